@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+# Compares request throughput with platform threads and with virtual threads at high
+# concurrency against the same fixed Hikari pool.
+#
+# Needs: a Java 21 runtime, a reachable MySQL with the usual datasource settings,
+# a built jar (mvn -B package -DskipTests) and `hey` (https://github.com/rakyll/hey).
+#
+#   USER_ID=1 TARGET_ID=2 ./scripts/benchmark-virtual-threads.sh
+#
+# Environment:
+#   JAR          application jar                        (target/rbac-iam.jar)
+#   PORT         port the app listens on                (8051)
+#   USER_ID      caller id sent as X-User-Id            (1)
+#   TARGET_ID    user fetched by the benchmarked call   (2)
+#   CONCURRENCY  concurrent clients                     (1000)
+#   DURATION     measured run per mode                  (60s)
+#   WARMUP       unmeasured warm-up per mode            (20s)
+#   DB_POOL_SIZE Hikari pool size for both modes        (10)
+set -euo pipefail
+
+JAR=${JAR:-target/rbac-iam.jar}
+PORT=${PORT:-8051}
+USER_ID=${USER_ID:-1}
+TARGET_ID=${TARGET_ID:-2}
+CONCURRENCY=${CONCURRENCY:-1000}
+DURATION=${DURATION:-60s}
+WARMUP=${WARMUP:-20s}
+export DB_POOL_SIZE=${DB_POOL_SIZE:-10}
+
+BASE="http://localhost:${PORT}"
+URL="${BASE}/api/users/${TARGET_ID}"
+OUT=$(mktemp -d)
+
+command -v hey >/dev/null || { echo "hey is required" >&2; exit 1; }
+[ -f "$JAR" ] || { echo "missing $JAR, run mvn -B package -DskipTests" >&2; exit 1; }
+
+run_mode() {
+	local virtual=$1
+	local log="${OUT}/app-virtual-${virtual}.log"
+	APP_VIRTUAL_THREADS=$virtual java -jar "$JAR" --server.port="$PORT" --spring.jpa.show-sql=false \
+		--management.endpoints.web.exposure.include=health,metrics >"$log" 2>&1 &
+	local pid=$!
+	trap 'kill $pid 2>/dev/null || true' EXIT
+
+	for _ in $(seq 1 120); do
+		curl -fs "${BASE}/actuator/health" >/dev/null 2>&1 && break
+		sleep 1
+	done
+
+	hey -z "$WARMUP" -c "$CONCURRENCY" -H "X-User-Id: ${USER_ID}" "$URL" >/dev/null
+	hey -z "$DURATION" -c "$CONCURRENCY" -H "X-User-Id: ${USER_ID}" "$URL" >"${OUT}/hey-virtual-${virtual}.txt"
+
+	if [ "$virtual" = "true" ]; then
+		curl -fs "${BASE}/actuator/metrics/jvm.threads.virtual.pinned" >"${OUT}/pinned.json" 2>/dev/null \
+			|| echo '{"note":"no pinning recorded"}' >"${OUT}/pinned.json"
+	fi
+
+	kill "$pid"
+	wait "$pid" 2>/dev/null || true
+	trap - EXIT
+}
+
+summary() {
+	local file=$1
+	local rps p50 p99 errors
+	rps=$(awk '/Requests\/sec/ {print $2}' "$file")
+	p50=$(awk '/50% in/ {print $3}' "$file")
+	p99=$(awk '/99% in/ {print $3}' "$file")
+	errors=$(awk '/\[[0-9]+\]/ && !/\[200\]/ {sum += $2} END {print sum + 0}' "$file")
+	printf "%-10s %12s %10s %10s %8s\n" "$2" "$rps" "$p50" "$p99" "$errors"
+}
+
+run_mode false
+run_mode true
+
+echo
+echo "GET ${URL}, ${CONCURRENCY} clients, ${DURATION}, Hikari pool ${DB_POOL_SIZE}"
+printf "%-10s %12s %10s %10s %8s\n" "threads" "req/s" "p50 (s)" "p99 (s)" "non-200"
+summary "${OUT}/hey-virtual-false.txt" platform
+summary "${OUT}/hey-virtual-true.txt" virtual
+echo
+echo "Pinning (virtual run): $(cat "${OUT}/pinned.json")"
+echo "Raw output and application logs: ${OUT}"
@@ -0,0 +1,96 @@
+#!/usr/bin/env bash
+# Starts two local MySQL 8 instances for trying the read/write split: a primary on
+# PRIMARY_PORT and a GTID replica of it on REPLICA_PORT. The replica is read-only and
+# follows the primary asynchronously, so a read routed to it can lag a fresh write.
+#
+# Needs: docker.
+#
+#   ./scripts/local-replica.sh          # start both
+#   ./scripts/local-replica.sh stop     # remove both
+#
+# Then start the app with
+#   DB_REPLICA_URLS='jdbc:mysql://localhost:3307/chatboatadmin?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true' \
+#     java -jar target/rbac-iam.jar --logging.level.TraceLogger=DEBUG \
+#       --management.endpoints.web.exposure.include=health,metrics
+# and watch /actuator/metrics/datasource.routing or the "Routing ..." debug lines.
+# `./scripts/local-replica.sh pause` stops replication, which makes replica reads visibly
+# stale (read-your-writes still shows the caller's own changes for the window);
+# `resume` restarts it.
+#
+# Environment:
+#   PRIMARY_PORT   host port of the primary     (3306)
+#   REPLICA_PORT   host port of the replica     (3307)
+#   DB_NAME        schema created on both       (chatboatadmin)
+#   DB_PASSWORD    root password of both        (1234)
+#   MYSQL_IMAGE    image used for both          (mysql:8.0)
+set -euo pipefail
+
+PRIMARY_PORT=${PRIMARY_PORT:-3306}
+REPLICA_PORT=${REPLICA_PORT:-3307}
+DB_NAME=${DB_NAME:-chatboatadmin}
+DB_PASSWORD=${DB_PASSWORD:-1234}
+MYSQL_IMAGE=${MYSQL_IMAGE:-mysql:8.0}
+NETWORK=rbac-db
+PRIMARY=rbac-db-primary
+REPLICA=rbac-db-replica
+
+command -v docker >/dev/null || { echo "docker is required" >&2; exit 1; }
+
+sql() {
+	docker exec -i "$1" mysql -uroot -p"$DB_PASSWORD" -e "$2" 2>/dev/null
+}
+
+wait_ready() {
+	for _ in $(seq 1 90); do
+		sql "$1" "SELECT 1" >/dev/null && return 0
+		sleep 1
+	done
+	echo "$1 did not start" >&2
+	exit 1
+}
+
+case "${1:-start}" in
+stop)
+	docker rm -f "$PRIMARY" "$REPLICA" >/dev/null 2>&1 || true
+	docker network rm "$NETWORK" >/dev/null 2>&1 || true
+	exit 0
+	;;
+pause)
+	sql "$REPLICA" "STOP REPLICA SQL_THREAD"
+	exit 0
+	;;
+resume)
+	sql "$REPLICA" "START REPLICA SQL_THREAD"
+	exit 0
+	;;
+start) ;;
+*)
+	echo "usage: $0 [start|stop|pause|resume]" >&2
+	exit 1
+	;;
+esac
+
+docker network inspect "$NETWORK" >/dev/null 2>&1 || docker network create "$NETWORK" >/dev/null
+
+docker run -d --name "$PRIMARY" --network "$NETWORK" -p "${PRIMARY_PORT}:3306" \
+	-e MYSQL_ROOT_PASSWORD="$DB_PASSWORD" "$MYSQL_IMAGE" \
+	--server-id=1 --log-bin=mysql-bin --gtid-mode=ON --enforce-gtid-consistency=ON >/dev/null
+docker run -d --name "$REPLICA" --network "$NETWORK" -p "${REPLICA_PORT}:3306" \
+	-e MYSQL_ROOT_PASSWORD="$DB_PASSWORD" "$MYSQL_IMAGE" \
+	--server-id=2 --gtid-mode=ON --enforce-gtid-consistency=ON --super-read-only=ON >/dev/null
+
+wait_ready "$PRIMARY"
+wait_ready "$REPLICA"
+
+sql "$REPLICA" "CHANGE REPLICATION SOURCE TO SOURCE_HOST='${PRIMARY}', SOURCE_PORT=3306,
+	SOURCE_USER='root', SOURCE_PASSWORD='${DB_PASSWORD}', SOURCE_AUTO_POSITION=1, GET_SOURCE_PUBLIC_KEY=1;
+	START REPLICA;"
+sql "$PRIMARY" "CREATE DATABASE IF NOT EXISTS \`${DB_NAME}\`"
+
+for _ in $(seq 1 30); do
+	sql "$REPLICA" "SHOW DATABASES LIKE '${DB_NAME}'" | grep -q "$DB_NAME" && break
+	sleep 1
+done
+
+echo "primary: localhost:${PRIMARY_PORT}, replica: localhost:${REPLICA_PORT} (schema ${DB_NAME})"
+sql "$REPLICA" "SHOW REPLICA STATUS\G" | grep -E "Replica_(IO|SQL)_Running:|Last_.*Error:" || true
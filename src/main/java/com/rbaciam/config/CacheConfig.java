@@ -0,0 +1,50 @@
+package com.rbaciam.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Bounded in-memory caches for the role, permission and company read paths. Every
+ * cache has its own size and time-to-live and records hit/miss statistics, which are
+ * published as {@code cache.gets} metrics on the actuator.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+	public static final String ROLES = "roles";
+	public static final String PERMISSIONS = "permissions";
+	public static final String COMPANIES = "companies";
+
+	@Bean
+	public CacheManager cacheManager(
+			@Value("${app.cache.roles.max-size:1000}") long rolesMaxSize,
+			@Value("${app.cache.roles.ttl:10m}") Duration rolesTtl,
+			@Value("${app.cache.permissions.max-size:500}") long permissionsMaxSize,
+			@Value("${app.cache.permissions.ttl:30m}") Duration permissionsTtl,
+			@Value("${app.cache.companies.max-size:2000}") long companiesMaxSize,
+			@Value("${app.cache.companies.ttl:2m}") Duration companiesTtl) {
+
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+		cacheManager.registerCustomCache(ROLES, bounded(rolesMaxSize, rolesTtl));
+		cacheManager.registerCustomCache(PERMISSIONS, bounded(permissionsMaxSize, permissionsTtl));
+		cacheManager.registerCustomCache(COMPANIES, bounded(companiesMaxSize, companiesTtl));
+		return cacheManager;
+	}
+
+	private static com.github.benmanes.caffeine.cache.Cache<Object, Object> bounded(long maxSize, Duration ttl) {
+		return Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+	}
+}
@@ -0,0 +1,99 @@
+package com.rbaciam.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Primary plus read replicas, active only when {@code app.datasource.replica.urls} is
+ * set; otherwise Spring Boot's single pool is used unchanged. The primary pool keeps the
+ * {@code spring.datasource.*} settings. Each replica gets its own read-only Hikari pool
+ * with the primary's credentials unless the replica ones are given.
+ * <p>
+ * The exposed {@link DataSource} defers the physical connection until the first
+ * statement, so {@link ReadWriteRoutingDataSource} can see whether the transaction is
+ * read-only, and Hibernate releases it after every transaction so the next one is routed
+ * afresh.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica.urls:}'.isBlank()")
+public class DataSourceConfig {
+
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+		return dataSource;
+	}
+
+	@Bean
+	public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+			DataSourceProperties properties, MeterRegistry meterRegistry,
+			@Value("${app.datasource.replica.urls}") List<String> urls,
+			@Value("${app.datasource.replica.username:}") String username,
+			@Value("${app.datasource.replica.password:}") String password,
+			@Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+			@Value("${app.datasource.replica.read-your-writes-window:5s}") Duration window,
+			@Value("${app.datasource.replica.max-tracked-writers:100000}") long maxTrackedWriters) {
+
+		List<HikariDataSource> replicas = new ArrayList<>();
+		for (String url : urls) {
+			if (url.isBlank()) {
+				continue;
+			}
+			HikariDataSource replica = new HikariDataSource();
+			replica.setPoolName("replica-" + (replicas.size() + 1));
+			replica.setJdbcUrl(url.trim());
+			replica.setDriverClassName(properties.determineDriverClassName());
+			replica.setUsername(username.isBlank() ? properties.determineUsername() : username);
+			replica.setPassword(username.isBlank() ? properties.determinePassword() : password);
+			replica.setMaximumPoolSize(maximumPoolSize);
+			replica.setReadOnly(true);
+			replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+			replicas.add(replica);
+		}
+		logger.info("SERVICE_LOG | Read-only transactions routed to {} replica(s), read-your-writes window {}",
+				replicas.size(), window);
+		return new ReadWriteRoutingDataSource(primaryDataSource, replicas, window, maxTrackedWriters,
+				meterRegistry);
+	}
+
+	/**
+	 * Overrides the connection hold mode set by Spring's JPA vendor adapter. Without it the
+	 * open-in-view session keeps the request's first connection, primary or replica, for
+	 * every later transaction of the request.
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+		return properties -> properties.put("hibernate.connection.handling_mode",
+				"DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+		return new LazyConnectionDataSourceProxy(routingDataSource);
+	}
+}
@@ -7,6 +7,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import com.rbaciam.service.impl.EmailService;
 
@@ -19,6 +20,24 @@ public class MailConfig {
         return new EmailService(mailSender, fromEmail);
     }
 
+	/**
+	 * Bounded pool for outbox deliveries. When the queue is full the dispatcher stops
+	 * claiming and leaves the remaining messages for the next poll.
+	 */
+	@Bean(name = "mailExecutor")
+	public ThreadPoolTaskExecutor mailExecutor(
+	        @Value("${app.mail.outbox.workers:4}") int workers,
+	        @Value("${app.mail.outbox.queue-capacity:100}") int queueCapacity) {
+	    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+	    executor.setCorePoolSize(workers);
+	    executor.setMaxPoolSize(workers);
+	    executor.setQueueCapacity(queueCapacity);
+	    executor.setThreadNamePrefix("mail-");
+	    executor.setWaitForTasksToCompleteOnShutdown(true);
+	    executor.setAwaitTerminationSeconds(30);
+	    return executor;
+	}
+
 	@Bean
 	public JavaMailSender javaMailSender(
 	        @Value("${spring.mail.host}") String host,
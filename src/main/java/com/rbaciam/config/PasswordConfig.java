@@ -1,7 +1,9 @@
 package com.rbaciam.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -12,4 +14,22 @@ public class PasswordConfig {
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder(); 
     }
-}
\ No newline at end of file
+
+    /**
+     * CPU-sized pool for BCrypt work, kept off the request threads. The queue is short
+     * and a full pool rejects immediately, so a login storm is shed with 503s instead of
+     * tying up Tomcat threads that cheap endpoints need.
+     */
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${app.auth.hash.workers:0}") int workers,
+            @Value("${app.auth.hash.queue-capacity:64}") int queueCapacity) {
+        int size = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("bcrypt-");
+        return executor;
+    }
+}
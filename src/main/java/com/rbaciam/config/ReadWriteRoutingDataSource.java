@@ -0,0 +1,172 @@
+package com.rbaciam.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rbaciam.security.AuthPrincipal;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends connections of read-only transactions declared in application code to the
+ * replica pools, round-robin, and everything else to the primary. The decision is made
+ * when the connection is first used, so this must sit behind a
+ * {@code LazyConnectionDataSourceProxy}: by then the transaction's read-only flag and
+ * name are bound to the thread. Hibernate must also give the connection back after each
+ * transaction instead of holding it for the open-in-view session, otherwise a write later
+ * in the same request would reuse a replica connection.
+ * <p>
+ * The read-only transactions Spring Data opens on its own for repository calls such as
+ * {@code findById} stay on the primary, since write paths without a service-level
+ * transaction use them to load the row they are about to update.
+ * <p>
+ * Methods whose results go into the shared {@code @Cacheable} caches are not read-only
+ * transactions and so load from the primary: a replica still behind a write and its
+ * {@code @CacheEvict} would put the old value back for the whole cache TTL.
+ * <p>
+ * Read-your-writes: when a read-write transaction commits during a request, the caller
+ * is remembered for {@code window}, and that caller's reads go to the primary until it
+ * runs out. Commits are seen through the {@link TransactionExecutionListener} callback,
+ * which Spring Boot registers with the transaction manager. The window should cover the
+ * usual replication lag. It is tracked per instance, which is enough for a caller whose
+ * requests stay on one node.
+ * <p>
+ * A replica that cannot hand out a connection is skipped for that call and the read runs
+ * on the primary. Routing decisions are counted in {@code datasource.routing}, tagged
+ * with the target and the reason.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource
+		implements TransactionExecutionListener, AutoCloseable {
+	static final String PRIMARY = "primary";
+	private static final String REPOSITORY_TRANSACTION_PREFIX = "org.springframework.data.";
+
+	private final DataSource primary;
+	private final List<HikariDataSource> replicas;
+	private final List<String> replicaKeys;
+	private final AtomicInteger next = new AtomicInteger();
+	private final Cache<Long, Boolean> recentWriters;
+	private final MeterRegistry meterRegistry;
+
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	public ReadWriteRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, Duration window,
+			long maxTrackedWriters, MeterRegistry meterRegistry) {
+		this.primary = primary;
+		this.replicas = List.copyOf(replicas);
+		this.meterRegistry = meterRegistry;
+		this.recentWriters = Caffeine.newBuilder()
+				.maximumSize(maxTrackedWriters)
+				.expireAfterWrite(window)
+				.build();
+
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		for (HikariDataSource replica : this.replicas) {
+			targets.put(replica.getPoolName(), replica);
+		}
+		this.replicaKeys = this.replicas.stream().map(HikariDataSource::getPoolName).toList();
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		setLenientFallback(false);
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+			return route(PRIMARY, "no_transaction");
+		}
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return route(PRIMARY, "write");
+		}
+		String transaction = TransactionSynchronizationManager.getCurrentTransactionName();
+		if (transaction == null || transaction.startsWith(REPOSITORY_TRANSACTION_PREFIX)) {
+			return route(PRIMARY, "repository_default");
+		}
+		Long caller = currentCaller();
+		if (caller != null && recentWriters.getIfPresent(caller) != null) {
+			return route(PRIMARY, "read_your_writes");
+		}
+		return route(replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size())), "read_only");
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		DataSource target = determineTargetDataSource();
+		if (target == primary) {
+			return primary.getConnection();
+		}
+		try {
+			return target.getConnection();
+		} catch (SQLException ex) {
+			logger.warn("SERVICE_LOG | Replica unavailable, reading from primary: {}", ex.getMessage());
+			meterRegistry.counter("datasource.routing", "target", PRIMARY, "reason", "replica_unavailable")
+					.increment();
+			return primary.getConnection();
+		}
+	}
+
+	/**
+	 * Marks the caller of the current request as a recent writer once a read-write
+	 * transaction has committed. Read-only and failed commits do not start the
+	 * read-your-writes window.
+	 */
+	@Override
+	public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+		if (commitFailure != null || transaction.isReadOnly()) {
+			return;
+		}
+		Long caller = currentCaller();
+		if (caller != null) {
+			recentWriters.put(caller, Boolean.TRUE);
+		}
+	}
+
+	private Object route(String target, String reason) {
+		meterRegistry.counter("datasource.routing", "target", target.equals(PRIMARY) ? PRIMARY : "replica",
+				"reason", reason).increment();
+		if (logger.isDebugEnabled()) {
+			logger.debug("SERVICE_LOG | Routing {} to {} ({})",
+					TransactionSynchronizationManager.getCurrentTransactionName(), target, reason);
+		}
+		return target;
+	}
+
+	private static Long currentCaller() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes == null) {
+			return null;
+		}
+		try {
+			Object principal = attributes.getAttribute(AuthPrincipal.REQUEST_ATTRIBUTE,
+					RequestAttributes.SCOPE_REQUEST);
+			return principal instanceof AuthPrincipal authPrincipal ? authPrincipal.getUserId() : null;
+		} catch (IllegalStateException ex) {
+			// request already completed
+			return null;
+		}
+	}
+
+	@Override
+	public void close() {
+		replicas.forEach(HikariDataSource::close);
+	}
+}
@@ -0,0 +1,106 @@
+package com.rbaciam.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Reports virtual threads that pin their carrier thread, i.e. block while inside a
+ * {@code synchronized} block or native frame, which in this service usually means the
+ * JDBC driver or the mail transport. Only active when virtual threads are enabled with
+ * {@code spring.threads.virtual.enabled=true}.
+ * <p>
+ * Pinning events come from an in-process JFR stream. Each event is attributed to the
+ * first frame outside the JDK, which is the code holding the monitor. The first event
+ * per site is logged with its stack, for up to 1000 sites, and every event is recorded
+ * in the {@code jvm.threads.virtual.pinned} timer tagged with that site, or with
+ * {@code other} once 100 sites have their own timer.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+	private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+	private static final int MAX_SITES = 100;
+	private static final int MAX_LOGGED_SITES = 1000;
+	private static final int LOGGED_FRAMES = 12;
+
+	private final MeterRegistry meterRegistry;
+	private final Duration threshold;
+	private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+	private final Set<String> loggedSites = ConcurrentHashMap.newKeySet();
+	private RecordingStream stream;
+
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+			@Value("${app.virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+		this.meterRegistry = meterRegistry;
+		this.threshold = threshold;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		if (Runtime.version().feature() < 21) {
+			logger.warn("SERVICE_LOG | spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+					+ "requests run on platform threads", Runtime.version().feature());
+			return;
+		}
+		stream = new RecordingStream();
+		stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+		stream.onEvent(PINNED_EVENT, this::record);
+		stream.startAsync();
+		logger.info("SERVICE_LOG | Virtual thread pinning monitor started, threshold={}", threshold);
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (stream != null) {
+			stream.close();
+		}
+	}
+
+	private void record(RecordedEvent event) {
+		List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+		String site = frames.stream().filter(frame -> !isJdkFrame(frame)).findFirst()
+				.map(VirtualThreadPinningMonitor::describe).orElse("jdk");
+		String tag = !timers.containsKey(site) && timers.size() >= MAX_SITES ? "other" : site;
+		timers.computeIfAbsent(tag, key -> Timer.builder("jvm.threads.virtual.pinned")
+				.description("Virtual threads that blocked while pinned to their carrier")
+				.tag("site", key)
+				.register(meterRegistry))
+				.record(event.getDuration());
+		if (loggedSites.size() < MAX_LOGGED_SITES && loggedSites.add(site)) {
+			logger.warn("SERVICE_LOG | Virtual thread pinned for {} ms at {}:\n\t{}", event.getDuration().toMillis(),
+					site, frames.stream().limit(LOGGED_FRAMES).map(VirtualThreadPinningMonitor::describe)
+							.collect(Collectors.joining("\n\t")));
+		}
+	}
+
+	private static boolean isJdkFrame(RecordedFrame frame) {
+		String type = frame.getMethod().getType().getName();
+		return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+	}
+
+	private static String describe(RecordedFrame frame) {
+		return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":"
+				+ frame.getLineNumber();
+	}
+}
@@ -0,0 +1,61 @@
+package com.rbaciam.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.rbaciam.dto.ApiResponseDto;
+import com.rbaciam.service.ArchiveService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+@RestController
+@RequestMapping("/api/archive")
+public class ArchiveController {
+
+	@Autowired
+	private ArchiveService archiveService;
+
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	@Operation(summary = "Restore an archived user", description = "Accessible by Super Admin only. The user's role and company must be active")
+	@ApiResponse(responseCode = "200", description = "User restored successfully")
+	@ApiResponse(responseCode = "404", description = "Archived user not found")
+	@ApiResponse(responseCode = "409", description = "Email already in use")
+	@PostMapping("/users/{user_id}/restore")
+	public ResponseEntity<ApiResponseDto> restoreUser(@PathVariable("user_id") Long id,
+			@RequestHeader("X-User-Id") Long userId) {
+		logger.info("Request to restore archived user [targetId={}, performedBy={}]", id, userId);
+		archiveService.restoreUser(id, userId);
+		return ResponseEntity.ok(new ApiResponseDto(id, true, "User restored successfully"));
+	}
+
+	@Operation(summary = "Restore an archived role", description = "Accessible by Super Admin only. Permission assignments are restored with the role")
+	@ApiResponse(responseCode = "200", description = "Role restored successfully")
+	@ApiResponse(responseCode = "404", description = "Archived role not found")
+	@PostMapping("/roles/{role_id}/restore")
+	public ResponseEntity<ApiResponseDto> restoreRole(@PathVariable("role_id") Long id,
+			@RequestHeader("X-User-Id") Long userId) {
+		logger.info("Request to restore archived role [targetId={}, performedBy={}]", id, userId);
+		archiveService.restoreRole(id, userId);
+		return ResponseEntity.ok(new ApiResponseDto(id, true, "Role restored successfully"));
+	}
+
+	@Operation(summary = "Restore an archived company", description = "Accessible by Super Admin only. Users of the company are restored separately")
+	@ApiResponse(responseCode = "200", description = "Company restored successfully")
+	@ApiResponse(responseCode = "404", description = "Archived company not found")
+	@PostMapping("/companies/{company_id}/restore")
+	public ResponseEntity<ApiResponseDto> restoreCompany(@PathVariable("company_id") Long id,
+			@RequestHeader("X-User-Id") Long userId) {
+		logger.info("Request to restore archived company [targetId={}, performedBy={}]", id, userId);
+		archiveService.restoreCompany(id, userId);
+		return ResponseEntity.ok(new ApiResponseDto(id, true, "Company restored successfully"));
+	}
+}
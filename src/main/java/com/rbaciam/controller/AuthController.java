@@ -0,0 +1,49 @@
+package com.rbaciam.controller;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.rbaciam.dto.LoginResponseDTO;
+import com.rbaciam.dto.RefreshTokenRequestDTO;
+import com.rbaciam.entity.LoginRequest;
+import com.rbaciam.service.AuthService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/auth")
+public class AuthController {
+
+	@Autowired
+	private AuthService authService;
+
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	@Operation(summary = "Log in", description = "Verifies email and password and issues an access and refresh token. The request thread is released while the password is checked")
+	@ApiResponse(responseCode = "200", description = "Credentials are valid, tokens issued")
+	@ApiResponse(responseCode = "401", description = "Invalid credentials or inactive account")
+	@ApiResponse(responseCode = "503", description = "Too many concurrent logins, retry shortly")
+	@PostMapping("/login")
+	public CompletableFuture<ResponseEntity<LoginResponseDTO>> login(@Valid @RequestBody LoginRequest request) {
+		logger.info("CONTROLLER_LOG | Login attempt for email={}", request.getEmail());
+		return authService.login(request).thenApply(ResponseEntity::ok);
+	}
+
+	@Operation(summary = "Refresh tokens", description = "Exchanges a refresh token for a new access and refresh token carrying the user's current role")
+	@ApiResponse(responseCode = "200", description = "Tokens issued")
+	@ApiResponse(responseCode = "401", description = "Invalid or expired refresh token, or inactive account")
+	@PostMapping("/refresh")
+	public ResponseEntity<LoginResponseDTO> refresh(@Valid @RequestBody RefreshTokenRequestDTO request) {
+		return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+	}
+}
@@ -0,0 +1,38 @@
+package com.rbaciam.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.rbaciam.dto.AuthzBatchCheckRequestDTO;
+import com.rbaciam.dto.AuthzBatchCheckResponseDTO;
+import com.rbaciam.service.AuthorizationService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/authz")
+@RequiredArgsConstructor
+public class AuthorizationController {
+	private final AuthorizationService authorizationService;
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	@Operation(summary = "Check many permissions at once", description = "Evaluates (userId, permission, companyId) tuples in one pass. Accessible by Super Admin or Admin")
+	@ApiResponse(responseCode = "200", description = "Results returned in request order")
+	@ApiResponse(responseCode = "400", description = "Invalid input")
+	@PostMapping("/check-batch")
+	public ResponseEntity<AuthzBatchCheckResponseDTO> checkBatch(@Valid @RequestBody AuthzBatchCheckRequestDTO request,
+			@RequestHeader("X-User-Id") Long userId) {
+		logger.info("CONTROLLER_LOG | Batch permission check of {} tuples by userId={}", request.getChecks().size(),
+				userId);
+		return ResponseEntity.ok(authorizationService.checkBatch(request, userId));
+	}
+}
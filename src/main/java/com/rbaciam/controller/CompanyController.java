@@ -101,7 +101,7 @@ public class CompanyController {
 	}
 
 	@PostMapping("/filter")
-	@Operation(summary = "companies search filter by fields", description = "Filter companies by country, industry, and created date range")
+	@Operation(summary = "companies search filter by fields", description = "Filter companies by country, industry, and created date range. Pass nextCursor back as after for keyset paging; includeTotal=false skips the count")
 	@ApiResponse(responseCode = "200", description = "Filtered companies retrieved successfully")
 	public ResponseEntity<PaginatedResponse<CompanyDTO>> filterCompanies(
 	        @RequestHeader("X-User-Id") Long userId,
@@ -110,10 +110,12 @@ public class CompanyController {
 	        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
 	        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
 	        @RequestParam(defaultValue = "0") int page,
-	        @RequestParam(defaultValue = "10") int size) {
+	        @RequestParam(defaultValue = "10") int size,
+	        @RequestParam(required = false) String after,
+	        @RequestParam(required = false) Boolean includeTotal) {
 
 	        return ResponseEntity.ok(companyService.filterCompanies(
-	                country, industry, createdFrom, createdTo, page, size, userId));
+	                country, industry, createdFrom, createdTo, page, size, userId, after, includeTotal));
 	}
 
 
@@ -1,20 +1,21 @@
 package com.rbaciam.controller;
 
-import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import com.rbaciam.dto.CountryResponse;
-import com.rbaciam.dto.IndustryResponse;
-import com.rbaciam.dto.TimezoneResponse;
-import com.rbaciam.service.CountryService;
-import com.rbaciam.service.IndustryService;
-import com.rbaciam.service.TimezoneService;
+import com.rbaciam.dto.ReferenceDataBody;
+import com.rbaciam.service.ReferenceDataService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -24,41 +25,52 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 public class CountryController {
 
 	@Autowired
-	private CountryService countryService;
+	private ReferenceDataService referenceDataService;
 
-	@Autowired
-	private TimezoneService timezoneService;
-
-	@Autowired
-	private IndustryService industryService;
-
-	@Operation(summary = "Get all timezones", description = "Returns a list of all available timezones")
+	@Operation(summary = "Get all timezones", description = "Returns a list of all available timezones. Send the ETag back in If-None-Match to get 304 when unchanged")
 	@ApiResponse(responseCode = "200", description = "Successfully retrieved")
+	@ApiResponse(responseCode = "304", description = "Not modified since the ETag sent")
 	@ApiResponse(responseCode = "401", description = "Unauthorized - Invalid user ID")
 	@ApiResponse(responseCode = "500", description = "Internal server error")
 	@GetMapping("/get_alltimezones")
-	public ResponseEntity<List<TimezoneResponse>> getAllTimezones(@RequestHeader("X-User-Id") Long userId) {
-		List<TimezoneResponse> timezones = timezoneService.getAllTimezones(userId);
-		return ResponseEntity.ok(timezones);
+	public ResponseEntity<byte[]> getAllTimezones(@RequestHeader("X-User-Id") Long userId, WebRequest request) {
+		return serve(referenceDataService.timezonesJson(userId), request);
 	}
     
-	@Operation(summary = "Get all industries", description = "Returns a list of all available industries")
+	@Operation(summary = "Get all industries", description = "Returns a list of all available industries. Send the ETag back in If-None-Match to get 304 when unchanged")
 	@ApiResponse(responseCode = "200", description = "Successfully retrieved")
+	@ApiResponse(responseCode = "304", description = "Not modified since the ETag sent")
 	@ApiResponse(responseCode = "401", description = "Unauthorized - Invalid user ID")
 	@ApiResponse(responseCode = "500", description = "Internal server error")
 	@GetMapping("/get_allindustries")
-	public ResponseEntity<List<IndustryResponse>> getAllIndustries(@RequestHeader("X-User-Id") Long userId) {
-		List<IndustryResponse> industries = industryService.getAllIndustries(userId);
-		return ResponseEntity.ok(industries);
+	public ResponseEntity<byte[]> getAllIndustries(@RequestHeader("X-User-Id") Long userId, WebRequest request) {
+		return serve(referenceDataService.industriesJson(userId), request);
 	}
     
-	@Operation(summary = "Get all country", description = "Returns a list of all available country")
+	@Operation(summary = "Get all country", description = "Returns a list of all available country. Send the ETag back in If-None-Match to get 304 when unchanged")
 	@ApiResponse(responseCode = "200", description = "Successfully retrieved")
+	@ApiResponse(responseCode = "304", description = "Not modified since the ETag sent")
 	@ApiResponse(responseCode = "401", description = "Unauthorized - Invalid user ID")
 	@ApiResponse(responseCode = "500", description = "Internal server error")
 	@GetMapping("/get_allcountry")
-	public ResponseEntity<List<CountryResponse>> getAllCountries(@RequestHeader("X-User-Id") Long userId) {
-		List<CountryResponse> countries = countryService.getAllCountries(userId);
-		return ResponseEntity.ok(countries);
+	public ResponseEntity<byte[]> getAllCountries(@RequestHeader("X-User-Id") Long userId, WebRequest request) {
+		return serve(referenceDataService.countriesJson(userId), request);
+	}
+
+	@Operation(summary = "Reload reference data", description = "Accessible by Super Admin only. Re-reads countries, timezones and industries on this instance")
+	@ApiResponse(responseCode = "200", description = "Row counts per data set")
+	@ApiResponse(responseCode = "403", description = "Forbidden - Super Admin only")
+	@PostMapping("/reference_data/reload")
+	public ResponseEntity<Map<String, Integer>> reloadReferenceData(@RequestHeader("X-User-Id") Long userId) {
+		return ResponseEntity.ok(referenceDataService.reload(userId));
+	}
+
+	private static ResponseEntity<byte[]> serve(ReferenceDataBody body, WebRequest request) {
+		if (request.checkNotModified(body.getEtag())) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(body.getEtag())
+					.cacheControl(CacheControl.noCache()).build();
+		}
+		return ResponseEntity.ok().eTag(body.getEtag()).cacheControl(CacheControl.noCache())
+				.contentType(MediaType.APPLICATION_JSON).body(body.getJson());
 	}
 }
@@ -56,7 +56,7 @@ public class RoleController {
 		return ResponseEntity.ok(new ApiResponseDto(true, "Permissions assigned successfully"));
 	}
 
-	@Operation(summary = "Remove permissions from role", description = "Accessible by Super Admin only")
+	@Operation(summary = "Remove permissions from role", description = "Accessible by Super Admin only. The message reports how many assignments were actually removed")
 	@ApiResponse(responseCode = "200", description = "Permissions removed successfully")
 	@ApiResponse(responseCode = "400", description = "Invalid input")
 	@ApiResponse(responseCode = "403", description = "Forbidden - Only Super Admin can remove permissions")
@@ -68,9 +68,9 @@ public class RoleController {
 		logger.info("CONTROLLER_LOG | Removing permissions from role ID={} by userId={}",
 				request.getRoleId(), userId);
 
-		roleService.removePermissionsFromRole(request.getRoleId(), request.getPermissionIds(), userId);
+		int removed = roleService.removePermissionsFromRole(request.getRoleId(), request.getPermissionIds(), userId);
 
-		return ResponseEntity.ok(new ApiResponseDto(true, "Permissions removed successfully"));
+		return ResponseEntity.ok(new ApiResponseDto(true, "Permissions removed successfully: " + removed));
 	}
 
 	@Operation(summary = "Get permissions for a role", description = "Accessible by Super Admin and Admin")
@@ -132,6 +132,19 @@ public class RoleController {
 		}
 	}
 
+	@Operation(summary = "Merge two roles", description = "Accessible by Super Admin only. Moves every user of the source role to the target role and optionally deletes the source role")
+	@ApiResponse(responseCode = "200", description = "Roles merged successfully")
+	@ApiResponse(responseCode = "400", description = "Source and target are the same role")
+	@ApiResponse(responseCode = "404", description = "Role not found")
+	@PostMapping("/merge")
+	public ResponseEntity<RoleMergeResponseDTO> mergeRoles(@RequestParam Long sourceRoleId,
+			@RequestParam Long targetRoleId, @RequestParam(defaultValue = "false") boolean deleteSource,
+			@RequestHeader("X-User-Id") Long userId) {
+		logger.info("CONTROLLER_LOG | Merging role ID={} into role ID={} by userId={}", sourceRoleId, targetRoleId,
+				userId);
+		return ResponseEntity.ok(roleService.mergeRoles(sourceRoleId, targetRoleId, deleteSource, userId));
+	}
+
 	@GetMapping
 	@Operation(summary = "Get all roles", description = "Returns paginated list of roles")
 	@ApiResponse(responseCode = "200", description = "Roles retrieved successfully")
@@ -159,7 +172,7 @@ public class RoleController {
 	}
 
 
-	@Operation(summary = "roles search filter by fields", description = "Filter roles by name, permissionId, createdFrom, createdTo")
+	@Operation(summary = "roles search filter by fields", description = "Filter roles by name, permissionId, createdFrom, createdTo. Pass nextCursor back as after for keyset paging; includeTotal=false skips the count")
 	@ApiResponse(responseCode = "200", description = "Filtered roles retrieved successfully")
 	@GetMapping("/filter")
 	public ResponseEntity<PaginatedResponse<RoleDTO>> filterRoles(
@@ -169,8 +182,11 @@ public class RoleController {
 	        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
 	        @RequestParam(defaultValue = "0") int page,
 	        @RequestParam(defaultValue = "10") int size,
-	        @RequestHeader("X-User-Id") Long userId) {
+	        @RequestHeader("X-User-Id") Long userId,
+	        @RequestParam(required = false) String after,
+	        @RequestParam(required = false) Boolean includeTotal) {
 
-	        return ResponseEntity.ok(roleService.filterRoles(roleName,permissionId,createdFrom,createdTo, page, size, userId));
+	        return ResponseEntity.ok(roleService.filterRoles(roleName,permissionId,createdFrom,createdTo, page, size, userId,
+	        		after, includeTotal));
 	}
 }
\ No newline at end of file
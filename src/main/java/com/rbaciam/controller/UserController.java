@@ -23,6 +23,10 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.rbaciam.dto.ApiResponseDto;
 import com.rbaciam.dto.AssignPasswordRequestDTO;
+import com.rbaciam.dto.BulkRoleChangeRequestDTO;
+import com.rbaciam.dto.BulkRoleChangeResponseDTO;
+import com.rbaciam.dto.BulkUserCreateRequestDTO;
+import com.rbaciam.dto.BulkUserCreateResponseDTO;
 import com.rbaciam.dto.PaginatedResponse;
 import com.rbaciam.dto.UserCreateDTO;
 import com.rbaciam.dto.UserDTO;
@@ -57,6 +61,19 @@ public class UserController {
 				.body(new ApiResponseDto(createdId, true, "User Created Successfully"));
 	}
 
+	@Operation(summary = "Create users in bulk", description = "Accessible by Super Admin or Admin. Rows are validated individually; valid rows are created and rejected rows are reported with the reason")
+	@ApiResponse(responseCode = "200", description = "Per-row results")
+	@ApiResponse(responseCode = "400", description = "Empty or oversized request")
+	@PostMapping("/bulk_create")
+	public ResponseEntity<BulkUserCreateResponseDTO> bulkCreateUsers(
+			@Valid @RequestBody BulkUserCreateRequestDTO request, @RequestHeader("X-User-Id") Long userId) {
+		logger.info("Request to bulk create {} users by userId {}", request.getUsers().size(), userId);
+		BulkUserCreateResponseDTO response = userService.bulkCreateUsers(request, userId);
+		logger.info("Bulk user creation finished for userId {}: created={}, failed={}", userId,
+				response.getCreated(), response.getFailed());
+		return ResponseEntity.ok(response);
+	}
+
 	@Operation(summary = "verify-token", description = "verify token by Super Admin or Admin")
 	@ApiResponse(responseCode = "200", description = "validate  token successfully")
 	@ApiResponse(responseCode = "401", description = "Invalid or expired token")
@@ -120,13 +137,15 @@ public class UserController {
 		return ResponseEntity.ok(userDTO);
 	}
 
-	@Operation(summary = "Get users by company ID", description = "Returns paginated list of users for a specific company")
+	@Operation(summary = "Get users by company ID", description = "Returns paginated list of users for a specific company. Pass nextCursor back as after for keyset paging; includeTotal=false skips the count")
 	@ApiResponse(responseCode = "200", description = "Users retrieved successfully")
 	@GetMapping("/company/{company_id}")
 	public ResponseEntity<PaginatedResponse<UserDTO>> getUsersByCompanyId(@PathVariable("company_id") Long companyId,
 			@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size,
-			@RequestHeader("X-User-Id") Long userId, @RequestParam(required = false) String search) {
-		PaginatedResponse<UserDTO> response = userService.getUsersByCompanyId(companyId, page, size, userId, search);
+			@RequestHeader("X-User-Id") Long userId, @RequestParam(required = false) String search,
+			@RequestParam(required = false) String after, @RequestParam(required = false) Boolean includeTotal) {
+		PaginatedResponse<UserDTO> response = userService.getUsersByCompanyId(companyId, page, size, userId, search,
+				after, includeTotal);
 		return ResponseEntity.ok(response);
 	}
 
@@ -142,7 +161,19 @@ public class UserController {
 		return ResponseEntity.ok(updatedUser);
 	}
 
-	@Operation(summary = "users search filter by fields", description = "Filter users by companyId, status, role, and createdAt range")
+	@PatchMapping("/user_role/bulk")
+	@Operation(summary = "Change the role of many users", description = "Takes userIds or a sourceRoleId plus a targetRoleId. Super Admin can move any users; Admin only users of their company, and the whole request is rejected if any user is out of reach")
+	@ApiResponse(responseCode = "200", description = "Summary of the change")
+	@ApiResponse(responseCode = "400", description = "Neither or both of userIds and sourceRoleId given")
+	@ApiResponse(responseCode = "403", description = "Forbidden - insufficient permissions")
+	@ApiResponse(responseCode = "404", description = "Role not found")
+	public ResponseEntity<BulkRoleChangeResponseDTO> bulkChangeUserRole(
+			@Valid @RequestBody BulkRoleChangeRequestDTO request, @RequestHeader("X-Requester-ID") Long requesterId) {
+		logger.info("Request to bulk change roles to {} by {}", request.getTargetRoleId(), requesterId);
+		return ResponseEntity.ok(userService.bulkChangeUserRole(request, requesterId));
+	}
+
+	@Operation(summary = "users search filter by fields", description = "Filter users by companyId, status, role, and createdAt range. Pass nextCursor back as after for keyset paging; includeTotal=false skips the count")
 	@ApiResponse(responseCode = "200", description = "Filtered users retrieved successfully")
 	@GetMapping("/filter")
 	public PaginatedResponse<UserDTO> filterUsers(@RequestParam(required = false) Long companyId,
@@ -150,8 +181,10 @@ public class UserController {
 			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
 			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
 			@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size,
-			@RequestHeader("X-User-Id") Long userId) {
-		return userService.filterUsers(companyId, status, roleId, createdFrom, createdTo, page, size, userId);
+			@RequestHeader("X-User-Id") Long userId, @RequestParam(required = false) String after,
+			@RequestParam(required = false) Boolean includeTotal) {
+		return userService.filterUsers(companyId, status, roleId, createdFrom, createdTo, page, size, userId, after,
+				includeTotal);
 	}
 
 	@GetMapping("/search")
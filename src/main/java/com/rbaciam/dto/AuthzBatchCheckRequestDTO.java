@@ -0,0 +1,18 @@
+package com.rbaciam.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class AuthzBatchCheckRequestDTO {
+
+	@NotEmpty(message = "At least one check is required")
+	@Size(max = 1000, message = "At most 1000 checks per request")
+	private List<@Valid AuthzCheckDTO> checks;
+}
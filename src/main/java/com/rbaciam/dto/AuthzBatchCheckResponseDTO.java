@@ -0,0 +1,15 @@
+package com.rbaciam.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class AuthzBatchCheckResponseDTO {
+
+	@Schema(description = "One entry per requested check, in request order")
+	private boolean[] results;
+}
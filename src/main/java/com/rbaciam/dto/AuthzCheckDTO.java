@@ -0,0 +1,24 @@
+package com.rbaciam.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Schema(description = "A single (user, permission, company) authorization check")
+public class AuthzCheckDTO {
+
+	@NotNull(message = "User ID is required")
+	@Schema(example = "1", required = true)
+	private Long userId;
+
+	@NotBlank(message = "Permission is required")
+	@Schema(example = "admin_access", required = true)
+	private String permission;
+
+	@Schema(example = "1", description = "Optional company the permission must apply to")
+	private Long companyId;
+}
@@ -0,0 +1,25 @@
+package com.rbaciam.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Schema(description = "Moves users to another role. Give either userIds or sourceRoleId")
+public class BulkRoleChangeRequestDTO {
+
+	@Size(max = 20000, message = "At most 20000 users per request")
+	@Schema(description = "Users to move")
+	private List<Long> userIds;
+
+	@Schema(description = "Move every active user holding this role; for an Admin, only users of their company")
+	private Long sourceRoleId;
+
+	@NotNull(message = "Target role ID is required")
+	private Long targetRoleId;
+}
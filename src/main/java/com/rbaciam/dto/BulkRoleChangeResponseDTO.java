@@ -0,0 +1,31 @@
+package com.rbaciam.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class BulkRoleChangeResponseDTO {
+
+	private Long targetRoleId;
+
+	@Schema(description = "Active users selected by the request")
+	private int matched;
+
+	private int updated;
+
+	@Schema(description = "Users that already held the target role")
+	private int unchanged;
+
+	@Schema(description = "Requested user ids that do not exist or are deleted")
+	private List<Long> notFound;
+
+	@Schema(description = "Updated user count per company id")
+	private Map<Long, Integer> updatedByCompany;
+}
@@ -0,0 +1,19 @@
+package com.rbaciam.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Schema(description = "Bulk user creation request. Rows are validated one by one and reported individually")
+public class BulkUserCreateRequestDTO {
+
+	@NotEmpty(message = "At least one user is required")
+	@Size(max = 20000, message = "At most 20000 users per request")
+	private List<UserCreateDTO> users;
+}
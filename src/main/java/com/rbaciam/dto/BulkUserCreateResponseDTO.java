@@ -0,0 +1,21 @@
+package com.rbaciam.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class BulkUserCreateResponseDTO {
+
+	private int requested;
+
+	private int created;
+
+	private int failed;
+
+	private List<BulkUserCreateResultDTO> results;
+}
@@ -0,0 +1,27 @@
+package com.rbaciam.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserCreateResultDTO {
+
+	@Schema(description = "Position of the row in the request")
+	private int index;
+
+	private String email;
+
+	private boolean created;
+
+	@Schema(description = "Id of the created user, null when the row was rejected")
+	private Long userId;
+
+	@Schema(description = "Why the row was rejected, null when it was created")
+	private String error;
+}
@@ -0,0 +1,33 @@
+package com.rbaciam.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class LoginResponseDTO {
+
+	private Long userId;
+
+	private String name;
+
+	private String email;
+
+	private Long roleId;
+
+	private String roleName;
+
+	private Long companyId;
+
+	private String companyName;
+
+	private String accessToken;
+
+	private String refreshToken;
+
+	private String tokenType;
+
+	private Long expiresIn;
+}
@@ -12,6 +12,7 @@ public class PaginatedResponse<T> implements Serializable {
 	private int pageSize;
 	private int totalElements;
 	private int totalPages;
+	private String nextCursor;
 
 	public PaginatedResponse() {
 	}
@@ -24,6 +25,16 @@ public class PaginatedResponse<T> implements Serializable {
 		this.totalPages = totalPages;
 	}
 
+	/**
+	 * Page of a cursor-capable listing. {@code totalElements} and {@code totalPages} are -1
+	 * when the caller skipped the count; {@code nextCursor} is null on the last page.
+	 */
+	public PaginatedResponse(List<T> data, int pageNumber, int pageSize, int totalElements, int totalPages,
+			String nextCursor) {
+		this(data, pageNumber, pageSize, totalElements, totalPages);
+		this.nextCursor = nextCursor;
+	}
+
 	public List<T> getData() {
 		return data;
 	}
@@ -64,4 +75,12 @@ public class PaginatedResponse<T> implements Serializable {
 		this.totalPages = totalPages;
 	}
 
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.rbaciam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A reference data set already serialized to JSON, with the strong ETag of those bytes.
+ */
+@Getter
+@AllArgsConstructor
+public class ReferenceDataBody {
+	private final byte[] json;
+	private final String etag;
+}
@@ -0,0 +1,19 @@
+package com.rbaciam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class RoleMergeResponseDTO {
+
+	private Long sourceRoleId;
+
+	private Long targetRoleId;
+
+	private int usersMoved;
+
+	private boolean sourceDeleted;
+}
@@ -9,7 +9,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "company")
+@Table(name = "company", indexes = { @Index(name = "idx_company_created_id", columnList = "created_at, id"),
+		@Index(name = "idx_company_deleted_at", columnList = "deleted_at") })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,64 @@
+package com.rbaciam.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A soft-deleted company moved out of {@code company} by the archival job.
+ */
+@Entity
+@Table(name = "company_archive", indexes = @Index(name = "idx_company_archive_archived_at", columnList = "archived_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class CompanyArchive {
+	@Id
+	private Long id;
+
+	@Column(nullable = false)
+	private String name;
+
+	private String description;
+
+	@Column(nullable = false)
+	private String domain;
+
+	private String country;
+
+	private String address;
+
+	private String timezone;
+
+	private String industry;
+
+	private String homepage;
+
+	@Column(name = "created_at")
+	private LocalDateTime createdAt;
+
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt;
+
+	@Column(name = "deleted_at")
+	private LocalDateTime deletedAt;
+
+	@Column(name = "created_by")
+	private Long createdBy;
+
+	@Column(name = "updated_by")
+	private Long updatedBy;
+
+	@Column(name = "deleted_by")
+	private Long deletedBy;
+
+	@Column(name = "archived_at", nullable = false)
+	private LocalDateTime archivedAt;
+}
@@ -0,0 +1,80 @@
+package com.rbaciam.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An email waiting to be sent. Rows are written in the same transaction as the change
+ * that triggers the email and are drained by the outbox dispatcher, so the request never
+ * waits on SMTP and nothing is lost on restart.
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+		@Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at"),
+		@Index(name = "idx_email_outbox_user", columnList = "user_id") })
+@Getter
+@Setter
+@NoArgsConstructor
+public class EmailOutbox {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 32)
+	private Type type;
+
+	@Column(name = "user_id")
+	private Long userId;
+
+	@Column(nullable = false)
+	private String recipient;
+
+	@Column(name = "recipient_name")
+	private String recipientName;
+
+	@Column(length = 1024)
+	private String link;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 16)
+	private Status status = Status.PENDING;
+
+	@Column(nullable = false)
+	private int attempts;
+
+	@Column(name = "next_attempt_at", nullable = false)
+	private LocalDateTime nextAttemptAt;
+
+	@Column(name = "locked_until")
+	private LocalDateTime lockedUntil;
+
+	@Column(name = "last_error", length = 1000)
+	private String lastError;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "sent_at")
+	private LocalDateTime sentAt;
+
+	public enum Type {
+		USER_VALIDATION, WELCOME
+	}
+
+	public enum Status {
+		PENDING, SENDING, SENT, FAILED, CANCELLED
+	}
+}
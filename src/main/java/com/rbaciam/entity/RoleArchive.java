@@ -0,0 +1,56 @@
+package com.rbaciam.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A soft-deleted role moved out of {@code roles} by the archival job; its permission
+ * assignments go to {@link RolePermissionArchive}.
+ */
+@Entity
+@Table(name = "roles_archive", indexes = @Index(name = "idx_roles_archive_archived_at", columnList = "archived_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class RoleArchive {
+	@Id
+	private Long id;
+
+	@Column(nullable = false)
+	private String name;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private Role.Type type;
+
+	@Column(name = "created_at")
+	private LocalDateTime createdAt;
+
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt;
+
+	@Column(name = "deleted_at")
+	private LocalDateTime deletedAt;
+
+	@Column(name = "created_by")
+	private Long createdBy;
+
+	@Column(name = "updated_by")
+	private Long updatedBy;
+
+	@Column(name = "deleted_by")
+	private Long deletedBy;
+
+	@Column(name = "archived_at", nullable = false)
+	private LocalDateTime archivedAt;
+}
@@ -0,0 +1,26 @@
+package com.rbaciam.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "roles_permissions_archive", indexes = @Index(name = "idx_roles_permissions_archive_role", columnList = "roles_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class RolePermissionArchive {
+	@Id
+	private Long id;
+
+	@Column(name = "roles_id", nullable = false)
+	private Long roleId;
+
+	@Column(name = "permissions_id", nullable = false)
+	private Long permissionId;
+}
@@ -0,0 +1,64 @@
+package com.rbaciam.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Invalidates every token issued for a subject up to {@code revokedAt}. USER and COMPANY
+ * revocations reject the token; USER_GRANT and ROLE revocations only mark the grant it
+ * carries as stale, so it is re-read instead. Rows are only needed until the last such
+ * token has expired, after which they are purged.
+ */
+@Entity
+@Table(name = "token_revocations", indexes = {
+		@Index(name = "idx_token_revocations_revoked_at", columnList = "revoked_at"),
+		@Index(name = "idx_token_revocations_expires_at", columnList = "expires_at") })
+@Getter
+@Setter
+@NoArgsConstructor
+public class TokenRevocation {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "subject_type", nullable = false, length = 16)
+	private SubjectType subjectType;
+
+	@Column(name = "subject_id", nullable = false)
+	private Long subjectId;
+
+	@Column(name = "revoked_at", nullable = false)
+	private LocalDateTime revokedAt;
+
+	@Column(name = "expires_at", nullable = false)
+	private LocalDateTime expiresAt;
+
+	@Column(name = "created_by")
+	private Long createdBy;
+
+	public TokenRevocation(SubjectType subjectType, Long subjectId, LocalDateTime revokedAt, LocalDateTime expiresAt,
+			Long createdBy) {
+		this.subjectType = subjectType;
+		this.subjectId = subjectId;
+		this.revokedAt = revokedAt;
+		this.expiresAt = expiresAt;
+		this.createdBy = createdBy;
+	}
+
+	public enum SubjectType {
+		USER, USER_GRANT, COMPANY, ROLE
+	}
+}
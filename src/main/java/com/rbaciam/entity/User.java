@@ -9,6 +9,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -17,7 +18,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+		@Index(name = "idx_users_created_id", columnList = "created_at, id"),
+		@Index(name = "idx_users_company_created_id", columnList = "company_id, created_at, id"),
+		@Index(name = "idx_users_deleted_at", columnList = "deleted_at"),
+		@Index(name = "idx_users_status_id", columnList = "status, id") })
 @Getter
 @Setter
 @NoArgsConstructor
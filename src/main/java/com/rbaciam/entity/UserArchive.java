@@ -0,0 +1,73 @@
+package com.rbaciam.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A soft-deleted user moved out of {@code users} by the archival job. Columns mirror
+ * {@link User} with plain ids for the references, so rows can be copied back as they were.
+ */
+@Entity
+@Table(name = "users_archive", indexes = @Index(name = "idx_users_archive_archived_at", columnList = "archived_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserArchive {
+	@Id
+	private Long id;
+
+	@Column(nullable = false)
+	private String name;
+
+	@Column(nullable = false)
+	private String email;
+
+	private String password;
+
+	@Column(name = "role_id", nullable = false)
+	private Long roleId;
+
+	@Column(name = "company_id", nullable = false)
+	private Long companyId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private User.Status status;
+
+	@Column(name = "created_at")
+	private LocalDateTime createdAt;
+
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt;
+
+	@Column(name = "deleted_at")
+	private LocalDateTime deletedAt;
+
+	@Column(name = "created_by")
+	private Long createdBy;
+
+	@Column(name = "updated_by")
+	private Long updatedBy;
+
+	@Column(name = "deleted_by")
+	private Long deletedBy;
+
+	@Column(name = "auth_token")
+	private String authToken;
+
+	@Column(name = "password_changed", nullable = false)
+	private boolean passwordChanged;
+
+	@Column(name = "archived_at", nullable = false)
+	private LocalDateTime archivedAt;
+}
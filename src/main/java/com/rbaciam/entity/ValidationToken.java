@@ -0,0 +1,53 @@
+package com.rbaciam.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A pending email validation link. Only the SHA-256 of the token is stored, under a
+ * unique index, so a link is verified with a point lookup and a leaked table does not
+ * reveal usable links. The plaintext only sits in the outbox row of the validation email
+ * until that email is sent or cancelled.
+ */
+@Entity
+@Table(name = "validation_tokens", indexes = {
+		@Index(name = "uk_validation_tokens_hash", columnList = "token_hash", unique = true),
+		@Index(name = "idx_validation_tokens_user", columnList = "user_id"),
+		@Index(name = "idx_validation_tokens_expires_at", columnList = "expires_at") })
+@Getter
+@Setter
+@NoArgsConstructor
+public class ValidationToken {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "token_hash", nullable = false, length = 64, columnDefinition = "CHAR(64)")
+	private String tokenHash;
+
+	@Column(name = "user_id", nullable = false)
+	private Long userId;
+
+	@Column(name = "expires_at", nullable = false)
+	private LocalDateTime expiresAt;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+
+	public ValidationToken(String tokenHash, Long userId, LocalDateTime expiresAt, LocalDateTime createdAt) {
+		this.tokenHash = tokenHash;
+		this.userId = userId;
+		this.expiresAt = expiresAt;
+		this.createdAt = createdAt;
+	}
+}
@@ -0,0 +1,11 @@
+package com.rbaciam.exception;
+
+/**
+ * The request was shed because a bounded resource is saturated; the client should retry
+ * shortly.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,161 @@
+package com.rbaciam.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import com.rbaciam.entity.EmailOutbox;
+import com.rbaciam.entity.TokenRevocation;
+import com.rbaciam.entity.User;
+import com.rbaciam.entity.ValidationToken;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Multi-row inserts for bulk operations, written with JDBC batches because the entities
+ * use IDENTITY ids, which stop Hibernate from batching inserts. With
+ * {@code rewriteBatchedStatements=true} on the MySQL URL each chunk becomes a single
+ * multi-row INSERT, and the generated ids come back in insert order.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BatchInsertRepository {
+	private final JdbcTemplate jdbcTemplate;
+
+	public static final int BATCH_SIZE = 500;
+
+	private static final String INSERT_USER = "INSERT INTO users (name, email, role_id, company_id, status, "
+			+ "auth_token, password_changed, created_at, updated_at, created_by, updated_by) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String INSERT_OUTBOX = "INSERT INTO email_outbox (type, user_id, recipient, recipient_name, "
+			+ "link, status, attempts, next_attempt_at, created_at) VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+	private static final String INSERT_ROLE_PERMISSION = "INSERT INTO roles_permissions (roles_id, permissions_id) "
+			+ "VALUES (?, ?)";
+
+	private static final String INSERT_TOKEN_REVOCATION = "INSERT INTO token_revocations (subject_type, subject_id, "
+			+ "revoked_at, expires_at, created_by) VALUES (?, ?, ?, ?, ?)";
+
+	private static final String INSERT_VALIDATION_TOKEN = "INSERT INTO validation_tokens (token_hash, user_id, "
+			+ "expires_at, created_at) VALUES (?, ?, ?, ?)";
+
+	/**
+	 * Inserts the users and assigns the generated ids back onto them.
+	 */
+	public void insertUsers(List<User> users) {
+		for (int from = 0; from < users.size(); from += BATCH_SIZE) {
+			List<User> chunk = users.subList(from, Math.min(from + BATCH_SIZE, users.size()));
+			KeyHolder keys = new GeneratedKeyHolder();
+			jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_USER, new String[] { "id" }),
+					new ChunkSetter<>(chunk, (ps, user) -> {
+						ps.setString(1, user.getName());
+						ps.setString(2, user.getEmail());
+						ps.setLong(3, user.getRole().getId());
+						ps.setLong(4, user.getCompany().getId());
+						ps.setString(5, user.getStatus().name());
+						ps.setString(6, user.getAuthToken());
+						ps.setBoolean(7, user.isPasswordChanged());
+						ps.setTimestamp(8, Timestamp.valueOf(user.getCreatedAt()));
+						ps.setTimestamp(9, Timestamp.valueOf(user.getUpdatedAt()));
+						ps.setLong(10, user.getCreatedBy());
+						ps.setLong(11, user.getUpdatedBy());
+					}), keys);
+			List<Map<String, Object>> generated = keys.getKeyList();
+			if (generated.size() != chunk.size()) {
+				throw new IllegalStateException(
+						"Expected " + chunk.size() + " generated user ids, got " + generated.size());
+			}
+			for (int i = 0; i < chunk.size(); i++) {
+				chunk.get(i).setId(((Number) generated.get(i).values().iterator().next()).longValue());
+			}
+		}
+	}
+
+	public void insertOutbox(List<EmailOutbox> messages) {
+		for (int from = 0; from < messages.size(); from += BATCH_SIZE) {
+			List<EmailOutbox> chunk = messages.subList(from, Math.min(from + BATCH_SIZE, messages.size()));
+			jdbcTemplate.batchUpdate(INSERT_OUTBOX, new ChunkSetter<>(chunk, (ps, message) -> {
+				ps.setString(1, message.getType().name());
+				ps.setObject(2, message.getUserId());
+				ps.setString(3, message.getRecipient());
+				ps.setString(4, message.getRecipientName());
+				ps.setString(5, message.getLink());
+				ps.setString(6, message.getStatus().name());
+				ps.setTimestamp(7, Timestamp.valueOf(message.getNextAttemptAt()));
+				ps.setTimestamp(8, Timestamp.valueOf(message.getCreatedAt()));
+			}));
+		}
+	}
+
+	public void insertRolePermissions(Long roleId, Collection<Long> permissionIds) {
+		List<Long> ids = new ArrayList<>(permissionIds);
+		for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+			jdbcTemplate.batchUpdate(INSERT_ROLE_PERMISSION,
+					new ChunkSetter<>(ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())), (ps, permissionId) -> {
+						ps.setLong(1, roleId);
+						ps.setLong(2, permissionId);
+					}));
+		}
+	}
+
+	public void insertTokenRevocations(List<TokenRevocation> revocations) {
+		for (int from = 0; from < revocations.size(); from += BATCH_SIZE) {
+			List<TokenRevocation> chunk = revocations.subList(from, Math.min(from + BATCH_SIZE, revocations.size()));
+			jdbcTemplate.batchUpdate(INSERT_TOKEN_REVOCATION, new ChunkSetter<>(chunk, (ps, revocation) -> {
+				ps.setString(1, revocation.getSubjectType().name());
+				ps.setLong(2, revocation.getSubjectId());
+				ps.setTimestamp(3, Timestamp.valueOf(revocation.getRevokedAt()));
+				ps.setTimestamp(4, Timestamp.valueOf(revocation.getExpiresAt()));
+				ps.setObject(5, revocation.getCreatedBy());
+			}));
+		}
+	}
+
+	public void insertValidationTokens(List<ValidationToken> tokens) {
+		for (int from = 0; from < tokens.size(); from += BATCH_SIZE) {
+			List<ValidationToken> chunk = tokens.subList(from, Math.min(from + BATCH_SIZE, tokens.size()));
+			jdbcTemplate.batchUpdate(INSERT_VALIDATION_TOKEN, new ChunkSetter<>(chunk, (ps, token) -> {
+				ps.setString(1, token.getTokenHash());
+				ps.setLong(2, token.getUserId());
+				ps.setTimestamp(3, Timestamp.valueOf(token.getExpiresAt()));
+				ps.setTimestamp(4, Timestamp.valueOf(token.getCreatedAt()));
+			}));
+		}
+	}
+
+	@FunctionalInterface
+	interface RowBinder<T> {
+		void bind(PreparedStatement ps, T row) throws SQLException;
+	}
+
+	private static final class ChunkSetter<T> implements BatchPreparedStatementSetter {
+		private final List<T> rows;
+		private final RowBinder<T> binder;
+
+		ChunkSetter(List<T> rows, RowBinder<T> binder) {
+			this.rows = rows;
+			this.binder = binder;
+		}
+
+		@Override
+		public void setValues(PreparedStatement ps, int i) throws SQLException {
+			binder.bind(ps, rows.get(i));
+		}
+
+		@Override
+		public int getBatchSize() {
+			return rows.size();
+		}
+	}
+}
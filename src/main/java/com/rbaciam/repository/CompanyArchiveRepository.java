@@ -0,0 +1,33 @@
+package com.rbaciam.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.rbaciam.entity.CompanyArchive;
+
+@Repository
+public interface CompanyArchiveRepository extends JpaRepository<CompanyArchive, Long> {
+
+	String COLUMNS = "id, name, description, domain, country, address, timezone, industry, homepage, created_at, "
+			+ "updated_at, deleted_at, created_by, updated_by, deleted_by";
+
+	@Modifying
+	@Query(value = "INSERT INTO company_archive (" + COLUMNS + ", archived_at) SELECT " + COLUMNS
+			+ ", :archivedAt FROM company WHERE id IN :ids", nativeQuery = true)
+	int copyFromCompanies(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+	@Modifying
+	@Query(value = "INSERT INTO company (" + COLUMNS + ") SELECT " + COLUMNS + " FROM company_archive WHERE id = :id",
+			nativeQuery = true)
+	int copyToCompanies(@Param("id") Long id);
+
+	@Modifying
+	@Query("DELETE FROM CompanyArchive a WHERE a.id = :id")
+	int purgeById(@Param("id") Long id);
+}
@@ -1,6 +1,7 @@
 package com.rbaciam.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -8,8 +9,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,6 +23,29 @@ import com.rbaciam.entity.Company;
 public interface CompanyRepository extends JpaRepository<Company, Long> {
 	Logger logger = LoggerFactory.getLogger("DbLogger");
 
+	/**
+	 * Active companies with their active users, each user flagged when its role holds
+	 * {@code super_admin_access}; shared by the listing query and its count.
+	 */
+	String LISTING_FROM = "FROM company c "
+			+ "LEFT JOIN users u ON u.company_id = c.id AND u.deleted_at IS NULL "
+			+ "LEFT JOIN (SELECT DISTINCT rp.roles_id AS role_id FROM roles_permissions rp "
+			+ "JOIN permissions p ON p.id = rp.permissions_id WHERE p.name = 'super_admin_access') sa "
+			+ "ON sa.role_id = u.role_id "
+			+ "WHERE c.deleted_at IS NULL "
+			+ "AND (:companyId IS NULL OR c.id = :companyId) "
+			+ "AND (:search IS NULL OR LOWER(c.name) LIKE LOWER(CONCAT('%', :search, '%')) "
+			+ "OR LOWER(c.domain) LIKE LOWER(CONCAT('%', :search, '%'))) "
+			+ "GROUP BY c.id, c.name, c.description, c.domain, c.country, c.address, c.timezone, c.industry, "
+			+ "c.homepage, c.created_at "
+			+ "HAVING (:listedOnly = false OR COUNT(CASE WHEN sa.role_id IS NULL THEN u.id END) > 0 "
+			+ "OR COUNT(u.id) = 0) ";
+
+	String FILTER_WHERE = "(:country IS NULL OR LOWER(c.country) LIKE %:country%) AND "
+			+ "(:industry IS NULL OR LOWER(c.industry) LIKE %:industry%) AND "
+			+ "(:createdFrom IS NULL OR c.createdAt >= :createdFrom) AND "
+			+ "(:createdTo IS NULL OR c.createdAt <= :createdTo) AND " + "c.deletedAt IS NULL";
+
 	Optional<Company> findByIdAndDeletedAtIsNull(Long id);
 
 	Optional<Company> findByDomainAndDeletedAtIsNull(String domain);
@@ -42,24 +68,92 @@ public interface CompanyRepository extends JpaRepository<Company, Long> {
 	@Query("SELECT COUNT(u) FROM User u WHERE u.company.id = :companyId AND u.deletedAt IS NULL")
 	int countByCompanyIdAndDeletedAtIsNull(@Param("companyId") Long companyId);
 
+	/**
+	 * Active user counts for a page of companies in one grouped query. Companies without
+	 * active users have no row.
+	 */
+	@Query("SELECT u.company.id AS companyId, COUNT(u) AS userCount FROM User u "
+			+ "WHERE u.company.id IN :companyIds AND u.deletedAt IS NULL GROUP BY u.company.id")
+	List<UserCountView> countActiveUsersByCompanyIdIn(@Param("companyIds") Collection<Long> companyIds);
+
 	List<Company> findAllByDeletedAtIsNull(Sort ascending);
 
+	/**
+	 * One page of the company listing, ordered by name, with each company's count of
+	 * active users that are not super admins. With {@code listedOnly} set, companies
+	 * whose only active users are super admins are left out.
+	 */
+	@Query(value = "SELECT c.id AS id, c.name AS name, c.description AS description, c.domain AS domain, "
+			+ "c.country AS country, c.address AS address, c.timezone AS timezone, c.industry AS industry, "
+			+ "c.homepage AS homepage, c.created_at AS createdAt, "
+			+ "COUNT(CASE WHEN sa.role_id IS NULL THEN u.id END) AS userCount "
+			+ LISTING_FROM + "ORDER BY c.name, c.id",
+			countQuery = "SELECT COUNT(*) FROM (SELECT c.id " + LISTING_FROM + ") listed",
+			nativeQuery = true)
+	Page<CompanyListingView> findCompanyListing(@Param("companyId") Long companyId, @Param("search") String search,
+			@Param("listedOnly") boolean listedOnly, Pageable pageable);
+
 	List<Company> findByDeletedAtIsNullAndId(Long companyId);
 	
-	@Query("SELECT c FROM Company c WHERE " +
-		       "(:country IS NULL OR LOWER(c.country) LIKE %:country%) AND " +
-		       "(:industry IS NULL OR LOWER(c.industry) LIKE %:industry%) AND " +
-		       "(:createdFrom IS NULL OR c.createdAt >= :createdFrom) AND " +
-		       "(:createdTo IS NULL OR c.createdAt <= :createdTo) AND " +
-		       "c.deletedAt IS NULL")
-		Page<Company> findByFilters(
-		        @Param("country") String country,
-		        @Param("industry") String industry,
-		        @Param("createdFrom") LocalDateTime createdFrom,
-		        @Param("createdTo") LocalDateTime createdTo,
-		        Pageable pageable);
+	@Query("SELECT c FROM Company c WHERE " + FILTER_WHERE
+			+ " AND (:afterId IS NULL "
+			+ "OR (:afterCreatedAt IS NULL AND c.createdAt IS NULL AND c.id < :afterId) "
+			+ "OR (:afterCreatedAt IS NOT NULL AND (c.createdAt < :afterCreatedAt OR c.createdAt IS NULL "
+			+ "OR (c.createdAt = :afterCreatedAt AND c.id < :afterId))))")
+	Slice<Company> findByFiltersAfter(@Param("country") String country, @Param("industry") String industry,
+			@Param("createdFrom") LocalDateTime createdFrom, @Param("createdTo") LocalDateTime createdTo,
+			@Param("afterCreatedAt") LocalDateTime afterCreatedAt, @Param("afterId") Long afterId,
+			Pageable pageable);
 
-	
+	@Query("SELECT COUNT(c) FROM Company c WHERE " + FILTER_WHERE)
+	long countByFilters(@Param("country") String country, @Param("industry") String industry,
+			@Param("createdFrom") LocalDateTime createdFrom, @Param("createdTo") LocalDateTime createdTo);
 
-	
+	/**
+	 * Ids of companies soft-deleted before the cutoff that no user, deleted or not, still
+	 * belongs to; users are archived first so their companies become eligible.
+	 */
+	@Query("SELECT c.id FROM Company c WHERE c.deletedAt < :cutoff "
+			+ "AND NOT EXISTS (SELECT 1 FROM User u WHERE u.company = c) ORDER BY c.id")
+	List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+	@Modifying
+	@Query("DELETE FROM Company c WHERE c.id IN :ids")
+	int purgeByIdIn(@Param("ids") Collection<Long> ids);
+
+	@Modifying
+	@Query("UPDATE Company c SET c.deletedAt = NULL, c.deletedBy = NULL, c.updatedAt = :updatedAt, "
+			+ "c.updatedBy = :updatedBy WHERE c.id = :id")
+	int undelete(@Param("id") Long id, @Param("updatedBy") Long updatedBy,
+			@Param("updatedAt") LocalDateTime updatedAt);
+
+	interface CompanyListingView {
+		Long getId();
+
+		String getName();
+
+		String getDescription();
+
+		String getDomain();
+
+		String getCountry();
+
+		String getAddress();
+
+		String getTimezone();
+
+		String getIndustry();
+
+		String getHomepage();
+
+		LocalDateTime getCreatedAt();
+
+		Long getUserCount();
+	}
+
+	interface UserCountView {
+		Long getCompanyId();
+
+		Long getUserCount();
+	}
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.rbaciam.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.rbaciam.entity.EmailOutbox;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+	@Query("SELECT o.id FROM EmailOutbox o WHERE o.status = com.rbaciam.entity.EmailOutbox$Status.PENDING "
+			+ "AND o.nextAttemptAt <= :now ORDER BY o.nextAttemptAt, o.id")
+	List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+	/**
+	 * Claims a due message by moving it to SENDING with a lease. Only one instance can win
+	 * the conditional update, so several dispatchers can share the table.
+	 */
+	@Modifying
+	@Transactional
+	@Query("UPDATE EmailOutbox o SET o.status = com.rbaciam.entity.EmailOutbox$Status.SENDING, "
+			+ "o.lockedUntil = :lockedUntil WHERE o.id = :id "
+			+ "AND o.status = com.rbaciam.entity.EmailOutbox$Status.PENDING")
+	int claim(@Param("id") Long id, @Param("lockedUntil") LocalDateTime lockedUntil);
+
+	/**
+	 * Marks the message sent. Like the FAILED and CANCELLED transitions below, this drops
+	 * the link: a validation link holds the plaintext token, which must not outlive the send.
+	 */
+	@Modifying
+	@Transactional
+	@Query("UPDATE EmailOutbox o SET o.status = com.rbaciam.entity.EmailOutbox$Status.SENT, o.sentAt = :sentAt, "
+			+ "o.link = NULL, o.lockedUntil = NULL, o.attempts = o.attempts + 1, o.lastError = NULL WHERE o.id = :id")
+	int markSent(@Param("id") Long id, @Param("sentAt") LocalDateTime sentAt);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE EmailOutbox o SET o.status = :status, o.nextAttemptAt = :nextAttemptAt, o.lockedUntil = NULL, "
+			+ "o.link = CASE WHEN :status = com.rbaciam.entity.EmailOutbox$Status.FAILED THEN NULL ELSE o.link END, "
+			+ "o.attempts = o.attempts + 1, o.lastError = :error WHERE o.id = :id "
+			+ "AND o.status = com.rbaciam.entity.EmailOutbox$Status.SENDING")
+	int markFailedAttempt(@Param("id") Long id, @Param("status") EmailOutbox.Status status,
+			@Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+	/**
+	 * Hands a claimed message back without counting an attempt, e.g. when the worker pool
+	 * is full.
+	 */
+	@Modifying
+	@Transactional
+	@Query("UPDATE EmailOutbox o SET o.status = com.rbaciam.entity.EmailOutbox$Status.PENDING, "
+			+ "o.lockedUntil = NULL WHERE o.id = :id AND o.status = com.rbaciam.entity.EmailOutbox$Status.SENDING")
+	int release(@Param("id") Long id);
+
+	/**
+	 * Returns messages whose sender died mid-send (expired lease) to the queue.
+	 */
+	@Modifying
+	@Transactional
+	@Query("UPDATE EmailOutbox o SET o.status = com.rbaciam.entity.EmailOutbox$Status.PENDING, "
+			+ "o.lockedUntil = NULL WHERE o.status = com.rbaciam.entity.EmailOutbox$Status.SENDING "
+			+ "AND o.lockedUntil < :now")
+	int releaseExpiredLeases(@Param("now") LocalDateTime now);
+
+	/**
+	 * Cancels the queued emails of a company's users. A message that is being sent right
+	 * now may still go out, but a failed attempt will not put it back in the queue.
+	 */
+	@Modifying
+	@Transactional
+	@Query("UPDATE EmailOutbox o SET o.status = com.rbaciam.entity.EmailOutbox$Status.CANCELLED, "
+			+ "o.link = NULL, o.lockedUntil = NULL WHERE o.status IN (com.rbaciam.entity.EmailOutbox$Status.PENDING, "
+			+ "com.rbaciam.entity.EmailOutbox$Status.SENDING) "
+			+ "AND o.userId IN (SELECT u.id FROM User u WHERE u.company.id = :companyId)")
+	int cancelPendingForCompany(@Param("companyId") Long companyId);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE EmailOutbox o SET o.status = com.rbaciam.entity.EmailOutbox$Status.CANCELLED, "
+			+ "o.link = NULL, o.lockedUntil = NULL WHERE o.status IN (com.rbaciam.entity.EmailOutbox$Status.PENDING, "
+			+ "com.rbaciam.entity.EmailOutbox$Status.SENDING) AND o.type = :type AND o.userId IN :userIds")
+	int cancelPendingForUsers(@Param("type") EmailOutbox.Type type, @Param("userIds") Collection<Long> userIds);
+
+	/**
+	 * Drops links still kept on finished messages written before links were cleared on
+	 * completion.
+	 */
+	@Modifying
+	@Transactional
+	@Query("UPDATE EmailOutbox o SET o.link = NULL WHERE o.link IS NOT NULL AND o.status IN "
+			+ "(com.rbaciam.entity.EmailOutbox$Status.SENT, com.rbaciam.entity.EmailOutbox$Status.FAILED, "
+			+ "com.rbaciam.entity.EmailOutbox$Status.CANCELLED)")
+	int clearFinishedLinks();
+}
@@ -0,0 +1,32 @@
+package com.rbaciam.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.rbaciam.entity.RoleArchive;
+
+@Repository
+public interface RoleArchiveRepository extends JpaRepository<RoleArchive, Long> {
+
+	String COLUMNS = "id, name, type, created_at, updated_at, deleted_at, created_by, updated_by, deleted_by";
+
+	@Modifying
+	@Query(value = "INSERT INTO roles_archive (" + COLUMNS + ", archived_at) SELECT " + COLUMNS
+			+ ", :archivedAt FROM roles WHERE id IN :ids", nativeQuery = true)
+	int copyFromRoles(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+	@Modifying
+	@Query(value = "INSERT INTO roles (" + COLUMNS + ") SELECT " + COLUMNS + " FROM roles_archive WHERE id = :id",
+			nativeQuery = true)
+	int copyToRoles(@Param("id") Long id);
+
+	@Modifying
+	@Query("DELETE FROM RoleArchive a WHERE a.id = :id")
+	int purgeById(@Param("id") Long id);
+}
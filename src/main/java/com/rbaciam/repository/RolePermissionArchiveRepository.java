@@ -0,0 +1,34 @@
+package com.rbaciam.repository;
+
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.rbaciam.entity.RolePermissionArchive;
+
+@Repository
+public interface RolePermissionArchiveRepository extends JpaRepository<RolePermissionArchive, Long> {
+
+	@Modifying
+	@Query(value = "INSERT INTO roles_permissions_archive (id, roles_id, permissions_id) "
+			+ "SELECT id, roles_id, permissions_id FROM roles_permissions WHERE roles_id IN :roleIds", nativeQuery = true)
+	int copyFromRolePermissions(@Param("roleIds") Collection<Long> roleIds);
+
+	/**
+	 * Puts a restored role's assignments back, skipping permissions that no longer exist.
+	 */
+	@Modifying
+	@Query(value = "INSERT INTO roles_permissions (id, roles_id, permissions_id) "
+			+ "SELECT a.id, a.roles_id, a.permissions_id FROM roles_permissions_archive a "
+			+ "WHERE a.roles_id = :roleId AND EXISTS (SELECT 1 FROM permissions p WHERE p.id = a.permissions_id)",
+			nativeQuery = true)
+	int copyToRolePermissions(@Param("roleId") Long roleId);
+
+	@Modifying
+	@Query("DELETE FROM RolePermissionArchive a WHERE a.roleId = :roleId")
+	int purgeByRoleId(@Param("roleId") Long roleId);
+}
@@ -1,5 +1,6 @@
 package com.rbaciam.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -16,6 +17,12 @@ public interface RolePermissionRepository extends JpaRepository<RolePermission,
 
     List<RolePermission> findByRoleId(Long roleId);
 
+    @Query("SELECT rp.permission.id FROM RolePermission rp WHERE rp.role.id = :roleId")
+    List<Long> findPermissionIdsByRoleId(@Param("roleId") Long roleId);
+
+    @Query("SELECT rp.role.id AS roleId, rp.permission.id AS permissionId FROM RolePermission rp")
+    List<RoleGrantView> findAllGrants();
+
     @Modifying
     @Transactional
     @Query("DELETE FROM RolePermission rp WHERE rp.role.id = :roleId")
@@ -26,7 +33,24 @@ public interface RolePermissionRepository extends JpaRepository<RolePermission,
     @Query("DELETE FROM RolePermission rp WHERE rp.role.id = :roleId AND rp.permission.id = :permissionId")
     void deleteByRoleIdAndPermissionId(@Param("roleId") Long roleId, @Param("permissionId") Long permissionId);
 
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RolePermission rp WHERE rp.role.id = :roleId AND rp.permission.id IN :permissionIds")
+    int deleteByRoleIdAndPermissionIdIn(@Param("roleId") Long roleId,
+            @Param("permissionIds") Collection<Long> permissionIds);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RolePermission rp WHERE rp.role.id IN :roleIds")
+    int deleteByRoleIdIn(@Param("roleIds") Collection<Long> roleIds);
+
     default void deleteByRoleIdWithLogging(@Param("roleId") Long roleId) {
         deleteByRoleId(roleId);
     }
+
+    interface RoleGrantView {
+        Long getRoleId();
+
+        Long getPermissionId();
+    }
 }
\ No newline at end of file
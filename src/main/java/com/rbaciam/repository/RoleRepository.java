@@ -1,13 +1,17 @@
 package com.rbaciam.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -18,6 +22,12 @@ import com.rbaciam.entity.Role;
 public interface RoleRepository extends JpaRepository<Role, Long> {
 	Logger logger = LoggerFactory.getLogger("DbLogger");
 
+	String FILTER_FROM_WHERE = "LEFT JOIN r.rolePermissions rp " + "LEFT JOIN rp.permission p "
+			+ "WHERE r.deletedAt IS NULL " + "AND (:name IS NULL OR LOWER(r.name) LIKE LOWER(CONCAT('%', :name, '%'))) "
+			+ "AND (:permissionId IS NULL OR p.id = :permissionId) "
+			+ "AND (:createdFrom IS NULL OR r.createdAt >= :createdFrom) "
+			+ "AND (:createdTo IS NULL OR r.createdAt <= :createdTo)";
+
 	Optional<Role> findByIdAndDeletedAtIsNull(Long id);
 
 	Optional<Role> findByNameAndDeletedAtIsNull(String name);
@@ -29,16 +39,48 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
 	@Query(value = "SELECT r FROM Role r WHERE r.deletedAt IS NULL")
 	Page<Role> findAllWithoutFetch(Pageable pageable);
 
-	@Query("SELECT DISTINCT r FROM Role r " + "LEFT JOIN r.rolePermissions rp " + "LEFT JOIN rp.permission p "
-			+ "WHERE r.deletedAt IS NULL " + "AND (:name IS NULL OR LOWER(r.name) LIKE LOWER(CONCAT('%', :name, '%'))) "
-			+ "AND (:permissionId IS NULL OR p.id = :permissionId) "
-			+ "AND (:createdFrom IS NULL OR r.createdAt >= :createdFrom) "
-			+ "AND (:createdTo IS NULL OR r.createdAt <= :createdTo)")
-	Page<Role> filterRolesByCriteria(@Param("name") String name, @Param("permissionId") Long permissionId,
+	@Query("SELECT DISTINCT r FROM Role r " + FILTER_FROM_WHERE
+			+ " AND (:afterId IS NULL "
+			+ "OR (:afterCreatedAt IS NULL AND r.createdAt IS NULL AND r.id < :afterId) "
+			+ "OR (:afterCreatedAt IS NOT NULL AND (r.createdAt < :afterCreatedAt OR r.createdAt IS NULL "
+			+ "OR (r.createdAt = :afterCreatedAt AND r.id < :afterId))))")
+	Slice<Role> filterRolesAfter(@Param("name") String name, @Param("permissionId") Long permissionId,
 			@Param("createdFrom") LocalDateTime createdFrom, @Param("createdTo") LocalDateTime createdTo,
+			@Param("afterCreatedAt") LocalDateTime afterCreatedAt, @Param("afterId") Long afterId,
 			Pageable pageable);
 
+	@Query("SELECT COUNT(DISTINCT r) FROM Role r " + FILTER_FROM_WHERE)
+	long countFilteredRoles(@Param("name") String name, @Param("permissionId") Long permissionId,
+			@Param("createdFrom") LocalDateTime createdFrom, @Param("createdTo") LocalDateTime createdTo);
+
 	Page<Role> findByDeletedAtIsNullAndNameNotAndNameContainingIgnoreCase(String excludedName, String search,
 			Pageable pageable);
 
+	@Query("SELECT r.id AS roleId, r.name AS name FROM Role r")
+	List<NameView> findAllNames();
+
+	/**
+	 * Ids of roles soft-deleted before the cutoff that no user, deleted or not, still
+	 * references; users are archived first so their roles become eligible.
+	 */
+	@Query("SELECT r.id FROM Role r WHERE r.deletedAt < :cutoff "
+			+ "AND NOT EXISTS (SELECT 1 FROM User u WHERE u.role = r) ORDER BY r.id")
+	List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+	@Modifying
+	@Query("DELETE FROM Role r WHERE r.id IN :ids")
+	int purgeByIdIn(@Param("ids") Collection<Long> ids);
+
+	@Modifying
+	@Query("UPDATE Role r SET r.deletedAt = NULL, r.deletedBy = NULL, r.updatedAt = :updatedAt, "
+			+ "r.updatedBy = :updatedBy WHERE r.id = :id")
+	int undelete(@Param("id") Long id, @Param("updatedBy") Long updatedBy,
+			@Param("updatedAt") LocalDateTime updatedAt);
+
+	interface NameView {
+		Long getRoleId();
+
+		String getName();
+	}
+
 }
\ No newline at end of file
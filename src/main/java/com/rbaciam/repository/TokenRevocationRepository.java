@@ -0,0 +1,51 @@
+package com.rbaciam.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.rbaciam.entity.TokenRevocation;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+	@Query("SELECT r.subjectType AS subjectType, r.subjectId AS subjectId, MAX(r.revokedAt) AS revokedAt "
+			+ "FROM TokenRevocation r WHERE r.expiresAt > :now GROUP BY r.subjectType, r.subjectId")
+	List<RevocationView> findActive(@Param("now") LocalDateTime now);
+
+	@Query("SELECT r.subjectType AS subjectType, r.subjectId AS subjectId, r.revokedAt AS revokedAt "
+			+ "FROM TokenRevocation r WHERE r.revokedAt >= :since")
+	List<RevocationView> findRevokedSince(@Param("since") LocalDateTime since);
+
+	/**
+	 * Moves the subjects' revocations up to the commit time of the transaction that wrote
+	 * them. Called after that transaction has ended, hence a new one.
+	 */
+	@Modifying
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	@Query("UPDATE TokenRevocation r SET r.revokedAt = :committedAt, r.expiresAt = :expiresAt "
+			+ "WHERE r.subjectType = :type AND r.subjectId IN :subjectIds AND r.revokedAt < :committedAt")
+	int restamp(@Param("type") TokenRevocation.SubjectType type, @Param("subjectIds") Collection<Long> subjectIds,
+			@Param("committedAt") LocalDateTime committedAt, @Param("expiresAt") LocalDateTime expiresAt);
+
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM TokenRevocation r WHERE r.expiresAt <= :now")
+	int deleteExpired(@Param("now") LocalDateTime now);
+
+	interface RevocationView {
+		TokenRevocation.SubjectType getSubjectType();
+
+		Long getSubjectId();
+
+		LocalDateTime getRevokedAt();
+	}
+}
@@ -0,0 +1,33 @@
+package com.rbaciam.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.rbaciam.entity.UserArchive;
+
+@Repository
+public interface UserArchiveRepository extends JpaRepository<UserArchive, Long> {
+
+	String COLUMNS = "id, name, email, password, role_id, company_id, status, created_at, updated_at, deleted_at, "
+			+ "created_by, updated_by, deleted_by, auth_token, password_changed";
+
+	@Modifying
+	@Query(value = "INSERT INTO users_archive (" + COLUMNS + ", archived_at) SELECT " + COLUMNS
+			+ ", :archivedAt FROM users WHERE id IN :ids", nativeQuery = true)
+	int copyFromUsers(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+	@Modifying
+	@Query(value = "INSERT INTO users (" + COLUMNS + ") SELECT " + COLUMNS + " FROM users_archive WHERE id = :id",
+			nativeQuery = true)
+	int copyToUsers(@Param("id") Long id);
+
+	@Modifying
+	@Query("DELETE FROM UserArchive a WHERE a.id = :id")
+	int purgeById(@Param("id") Long id);
+}
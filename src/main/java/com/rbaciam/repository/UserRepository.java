@@ -1,6 +1,7 @@
 package com.rbaciam.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -8,18 +9,42 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.rbaciam.entity.Role;
 import com.rbaciam.entity.User;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 	Logger logger = LoggerFactory.getLogger("DbLogger");
 
+	/**
+	 * Keyset condition for listings ordered by createdAt DESC, id DESC (see PageCursor).
+	 * Inactive when :afterId is null; rows without createdAt come last.
+	 */
+	String AFTER_CURSOR = " AND (:afterId IS NULL "
+			+ "OR (:afterCreatedAt IS NULL AND u.createdAt IS NULL AND u.id < :afterId) "
+			+ "OR (:afterCreatedAt IS NOT NULL AND (u.createdAt < :afterCreatedAt OR u.createdAt IS NULL "
+			+ "OR (u.createdAt = :afterCreatedAt AND u.id < :afterId))))";
+
+	String FILTER_WHERE = "u.deletedAt IS NULL AND "
+			+ "(:companyId IS NULL OR u.company.id = :companyId) AND " + "(:status IS NULL OR u.status = :status) AND "
+			+ "(:roleId IS NULL OR (u.role IS NOT NULL AND u.role.id = :roleId)) AND "
+			+ "(:createdFrom IS NULL OR u.createdAt >= :createdFrom) AND "
+			+ "(:createdTo IS NULL OR u.createdAt <= :createdTo)";
+
+	String COMPANY_USERS_WHERE = "u.deletedAt IS NULL AND u.company.id = :companyId "
+			+ "AND (:excludeSuperAdmins = false OR NOT EXISTS (SELECT 1 FROM RolePermission rp WHERE "
+			+ "rp.role = u.role AND rp.permission.name = 'super_admin_access')) "
+			+ "AND (:search IS NULL OR LOWER(u.name) LIKE LOWER(CONCAT('%', :search, '%')) "
+			+ "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')))";
+
 	Optional<User> findByIdAndDeletedAtIsNull(Long id);
 
 	Optional<User> findByEmailAndDeletedAtIsNull(String email);
@@ -46,14 +71,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
 	boolean existsByEmail(String email);
 
-	@Query("SELECT u FROM User u WHERE " + "u.deletedAt IS NULL AND "
-			+ "(:companyId IS NULL OR u.company.id = :companyId) AND " + "(:status IS NULL OR u.status = :status) AND "
-			+ "(:roleId IS NULL OR (u.role IS NOT NULL AND u.role.id = :roleId)) AND "
-			+ "(:createdFrom IS NULL OR u.createdAt >= :createdFrom) AND "
-			+ "(:createdTo IS NULL OR u.createdAt <= :createdTo)")
-	Page<User> filterUsers(@Param("companyId") Long companyId, @Param("status") User.Status status,
+	/**
+	 * Which of the given emails are already taken. Soft-deleted users are included because
+	 * the email column is unique across all rows.
+	 */
+	@Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+	List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+	@Query("SELECT u FROM User u WHERE " + FILTER_WHERE + AFTER_CURSOR)
+	Slice<User> filterUsersAfter(@Param("companyId") Long companyId, @Param("status") User.Status status,
+			@Param("roleId") Long roleId, @Param("createdFrom") LocalDateTime createdFrom,
+			@Param("createdTo") LocalDateTime createdTo, @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+			@Param("afterId") Long afterId, Pageable pageable);
+
+	@Query("SELECT COUNT(u) FROM User u WHERE " + FILTER_WHERE)
+	long countFilteredUsers(@Param("companyId") Long companyId, @Param("status") User.Status status,
 			@Param("roleId") Long roleId, @Param("createdFrom") LocalDateTime createdFrom,
-			@Param("createdTo") LocalDateTime createdTo, Pageable pageable);
+			@Param("createdTo") LocalDateTime createdTo);
 
 
 	Page<User> findByStatusAndRoleId(String status, Long roleId, Pageable pageable);
@@ -69,11 +103,159 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	@Query("SELECT u FROM User u WHERE u.deletedAt IS NULL AND u.role.name <> 'SUPER_ADMIN'")
 	List<User> findAllNonSuperAdminUsers();
 
+	/**
+	 * One page of active users, optionally restricted to a company, excluding a role by
+	 * name and matching a case-insensitive substring of name or email. Role and company
+	 * are fetched with the page; the count is a separate query that fetches nothing.
+	 */
+	@EntityGraph(attributePaths = { "role", "company" })
+	@Query(value = "SELECT u FROM User u WHERE u.deletedAt IS NULL "
+			+ "AND (:companyId IS NULL OR u.company.id = :companyId) "
+			+ "AND (:excludedRole IS NULL OR u.role.name <> :excludedRole) "
+			+ "AND (:search IS NULL OR LOWER(u.name) LIKE LOWER(CONCAT('%', :search, '%')) "
+			+ "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')))",
+			countQuery = "SELECT COUNT(u) FROM User u WHERE u.deletedAt IS NULL "
+			+ "AND (:companyId IS NULL OR u.company.id = :companyId) "
+			+ "AND (:excludedRole IS NULL OR u.role.name <> :excludedRole) "
+			+ "AND (:search IS NULL OR LOWER(u.name) LIKE LOWER(CONCAT('%', :search, '%')) "
+			+ "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')))")
+	Page<User> searchUsers(@Param("companyId") Long companyId, @Param("excludedRole") String excludedRole,
+			@Param("search") String search, Pageable pageable);
+
+	/**
+	 * A company's active users matching a case-insensitive name/email substring, after
+	 * the given cursor. Holders of {@code super_admin_access} are excluded through NOT
+	 * EXISTS on the role's permissions when {@code excludeSuperAdmins} is set.
+	 */
+	@EntityGraph(attributePaths = { "role", "company" })
+	@Query("SELECT u FROM User u WHERE " + COMPANY_USERS_WHERE + AFTER_CURSOR)
+	Slice<User> findCompanyUsersAfter(@Param("companyId") Long companyId,
+			@Param("excludeSuperAdmins") boolean excludeSuperAdmins, @Param("search") String search,
+			@Param("afterCreatedAt") LocalDateTime afterCreatedAt, @Param("afterId") Long afterId,
+			Pageable pageable);
+
+	@Query("SELECT COUNT(u) FROM User u WHERE " + COMPANY_USERS_WHERE)
+	long countCompanyUsers(@Param("companyId") Long companyId,
+			@Param("excludeSuperAdmins") boolean excludeSuperAdmins, @Param("search") String search);
+
 	List<User> findByDeletedAtIsNullAndCompanyId(Long companyId);
 
 	List<User> findByCompanyIdAndDeletedAtIsNull(Long companyId);
 	
-	Optional<User> findByAuthTokenAndDeletedAtIsNull(String authToken);
+	/**
+	 * Users still holding a plaintext validation token from before tokens moved to
+	 * {@code validation_tokens}, for the one-off migration.
+	 */
+	@Query("SELECT u.id AS userId, u.authToken AS authToken, "
+			+ "CASE WHEN u.deletedAt IS NULL AND u.status = com.rbaciam.entity.User$Status.VPENDING "
+			+ "THEN true ELSE false END AS pending FROM User u WHERE u.authToken IS NOT NULL ORDER BY u.id")
+	List<LegacyTokenView> findLegacyAuthTokens(Pageable pageable);
+
+	@Modifying
+	@Query("UPDATE User u SET u.authToken = NULL WHERE u.id IN :userIds")
+	int clearAuthTokens(@Param("userIds") Collection<Long> userIds);
+
+	@Query("SELECT u.id AS userId, u.role.id AS roleId, u.company.id AS companyId, "
+			+ "CASE WHEN u.company.deletedAt IS NULL THEN true ELSE false END AS companyActive FROM User u "
+			+ "WHERE u.id = :userId AND u.deletedAt IS NULL")
+	Optional<GrantView> findGrantById(@Param("userId") Long userId);
+
+	@Query("SELECT u.id AS userId, u.role.id AS roleId, u.company.id AS companyId, "
+			+ "CASE WHEN u.company.deletedAt IS NULL THEN true ELSE false END AS companyActive FROM User u "
+			+ "WHERE u.id IN :userIds AND u.deletedAt IS NULL")
+	List<GrantView> findGrantsByIdIn(@Param("userIds") Collection<Long> userIds);
+
+	@Query("SELECT u.id AS userId, u.role.id AS roleId, u.company.id AS companyId, "
+			+ "CASE WHEN u.company.deletedAt IS NULL THEN true ELSE false END AS companyActive FROM User u "
+			+ "WHERE u.role.id = :roleId AND u.deletedAt IS NULL "
+			+ "AND (:companyId IS NULL OR u.company.id = :companyId)")
+	List<GrantView> findGrantsByRoleId(@Param("roleId") Long roleId, @Param("companyId") Long companyId);
+
+	/**
+	 * Moves the given users of one company to a role in a single statement. The company
+	 * condition keeps a batch from touching users outside the company it was checked for.
+	 */
+	@Modifying
+	@Query("UPDATE User u SET u.role = :role, u.updatedBy = :updatedBy, u.updatedAt = :updatedAt "
+			+ "WHERE u.id IN :userIds AND u.company.id = :companyId AND u.deletedAt IS NULL")
+	int updateRoleForCompanyUsers(@Param("role") Role role, @Param("companyId") Long companyId,
+			@Param("userIds") Collection<Long> userIds, @Param("updatedBy") Long updatedBy,
+			@Param("updatedAt") LocalDateTime updatedAt);
+
+	/**
+	 * Moves every user of one role to another, soft-deleted users included, so the source
+	 * role is left without members.
+	 */
+	@Modifying
+	@Query("UPDATE User u SET u.role = :target, u.updatedBy = :updatedBy, u.updatedAt = :updatedAt "
+			+ "WHERE u.role = :source")
+	int reassignRole(@Param("source") Role source, @Param("target") Role target, @Param("updatedBy") Long updatedBy,
+			@Param("updatedAt") LocalDateTime updatedAt);
+
+	/**
+	 * Soft-deletes every active user of a company without loading the users.
+	 */
+	@Modifying
+	@Query("UPDATE User u SET u.deletedAt = :deletedAt, u.deletedBy = :deletedBy, "
+			+ "u.updatedAt = :deletedAt, u.updatedBy = :deletedBy "
+			+ "WHERE u.company.id = :companyId AND u.deletedAt IS NULL")
+	int softDeleteByCompanyId(@Param("companyId") Long companyId, @Param("deletedBy") Long deletedBy,
+			@Param("deletedAt") LocalDateTime deletedAt);
+
+	/**
+	 * Ids of users soft-deleted before the cutoff, oldest ids first, for the archival job.
+	 */
+	@Query("SELECT u.id FROM User u WHERE u.deletedAt < :cutoff ORDER BY u.id")
+	List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+	@Modifying
+	@Query("DELETE FROM User u WHERE u.id IN :ids")
+	int purgeByIdIn(@Param("ids") Collection<Long> ids);
+
+	@Modifying
+	@Query("UPDATE User u SET u.deletedAt = NULL, u.deletedBy = NULL, u.updatedAt = :updatedAt, "
+			+ "u.updatedBy = :updatedBy WHERE u.id = :id")
+	int undelete(@Param("id") Long id, @Param("updatedBy") Long updatedBy,
+			@Param("updatedAt") LocalDateTime updatedAt);
+
+	/**
+	 * Next chunk of invitations still pending after the cutoff, walked by id so each chunk
+	 * is an index range scan on (status, id).
+	 */
+	@Query("SELECT u.id FROM User u WHERE u.status = com.rbaciam.entity.User$Status.VPENDING "
+			+ "AND u.deletedAt IS NULL AND u.createdAt < :cutoff AND u.id > :afterId ORDER BY u.id")
+	List<Long> findStalePendingIds(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") Long afterId,
+			Pageable pageable);
+
+	@Query("SELECT COUNT(u) FROM User u WHERE u.status = com.rbaciam.entity.User$Status.VPENDING "
+			+ "AND u.deletedAt IS NULL AND u.createdAt < :cutoff")
+	long countStalePending(@Param("cutoff") LocalDateTime cutoff);
+
+	@Modifying
+	@Query("UPDATE User u SET u.status = com.rbaciam.entity.User$Status.NON_ACTIVE, u.authToken = NULL, "
+			+ "u.updatedAt = :now WHERE u.id IN :ids AND u.status = com.rbaciam.entity.User$Status.VPENDING")
+	int deactivatePending(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+	@Modifying
+	@Query("UPDATE User u SET u.deletedAt = :now, u.authToken = NULL, u.updatedAt = :now "
+			+ "WHERE u.id IN :ids AND u.status = com.rbaciam.entity.User$Status.VPENDING AND u.deletedAt IS NULL")
+	int softDeletePending(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+	interface GrantView {
+		Long getUserId();
+
+		Long getRoleId();
+
+		Long getCompanyId();
+
+		Boolean getCompanyActive();
+	}
+
+	interface LegacyTokenView {
+		Long getUserId();
 
+		String getAuthToken();
 
-}
\ No newline at end of file
+		Boolean getPending();
+	}
+}
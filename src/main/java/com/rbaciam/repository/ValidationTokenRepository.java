@@ -0,0 +1,41 @@
+package com.rbaciam.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.rbaciam.entity.ValidationToken;
+
+@Repository
+public interface ValidationTokenRepository extends JpaRepository<ValidationToken, Long> {
+
+	Optional<ValidationToken> findByTokenHash(String tokenHash);
+
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM ValidationToken t WHERE t.userId = :userId")
+	int deleteByUserId(@Param("userId") Long userId);
+
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM ValidationToken t WHERE t.userId IN :userIds")
+	int deleteByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM ValidationToken t WHERE t.userId IN "
+			+ "(SELECT u.id FROM User u WHERE u.company.id = :companyId)")
+	int deleteByCompanyId(@Param("companyId") Long companyId);
+
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM ValidationToken t WHERE t.expiresAt <= :now")
+	int deleteExpired(@Param("now") LocalDateTime now);
+}
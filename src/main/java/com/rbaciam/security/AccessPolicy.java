@@ -0,0 +1,68 @@
+package com.rbaciam.security;
+
+/**
+ * Company-scoped access rules shared by the user, company and authorization services.
+ *
+ * Super admins act on every company; admins (and, for read access, plain users) only
+ * act on the company they belong to.
+ */
+public final class AccessPolicy {
+
+	public static final String SUPER_ADMIN_ACCESS = "super_admin_access";
+	public static final String ADMIN_ACCESS = "admin_access";
+	public static final String USER_ACCESS = "user_access";
+
+	private AccessPolicy() {
+	}
+
+	/**
+	 * Returns true if the permission bitset contains the named permission.
+	 */
+	public static boolean has(AuthorizationSnapshot snapshot, long[] grants, String permissionName) {
+		return AuthorizationSnapshot.test(grants, snapshot.bitOf(permissionName));
+	}
+
+	/**
+	 * Returns true if the grants allow creating, updating or deleting users of the target company.
+	 */
+	public static boolean canManage(AuthorizationSnapshot snapshot, long[] grants, Long actorCompanyId,
+			Long targetCompanyId) {
+		if (AuthorizationSnapshot.test(grants, snapshot.bitOf(SUPER_ADMIN_ACCESS))) {
+			return true;
+		}
+		return AuthorizationSnapshot.test(grants, snapshot.bitOf(ADMIN_ACCESS))
+				&& sameCompany(actorCompanyId, targetCompanyId);
+	}
+
+	/**
+	 * Returns true if the grants allow reading users and details of the target company.
+	 */
+	public static boolean canView(AuthorizationSnapshot snapshot, long[] grants, Long actorCompanyId,
+			Long targetCompanyId) {
+		if (AuthorizationSnapshot.test(grants, snapshot.bitOf(SUPER_ADMIN_ACCESS))) {
+			return true;
+		}
+		boolean companyScoped = AuthorizationSnapshot.test(grants, snapshot.bitOf(ADMIN_ACCESS))
+				|| AuthorizationSnapshot.test(grants, snapshot.bitOf(USER_ACCESS));
+		return companyScoped && sameCompany(actorCompanyId, targetCompanyId);
+	}
+
+	/**
+	 * Returns true if the grants hold the permission and, when a company is given, that
+	 * company is within reach.
+	 */
+	public static boolean hasPermissionInCompany(AuthorizationSnapshot snapshot, long[] grants, Long actorCompanyId,
+			String permissionName, Long targetCompanyId) {
+		if (!AuthorizationSnapshot.test(grants, snapshot.bitOf(permissionName))) {
+			return false;
+		}
+		if (targetCompanyId == null || AuthorizationSnapshot.test(grants, snapshot.bitOf(SUPER_ADMIN_ACCESS))) {
+			return true;
+		}
+		return sameCompany(actorCompanyId, targetCompanyId);
+	}
+
+	private static boolean sameCompany(Long actorCompanyId, Long targetCompanyId) {
+		return actorCompanyId != null && actorCompanyId.equals(targetCompanyId);
+	}
+}
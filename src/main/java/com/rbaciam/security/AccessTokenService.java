@@ -0,0 +1,252 @@
+package com.rbaciam.security;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rbaciam.entity.TokenRevocation.SubjectType;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Issues and verifies HS256-signed JWTs. Access tokens carry everything an
+ * {@link AuthPrincipal} needs (user, company, role and the role's permission bitset), so
+ * a request carrying one is authorized without touching the database. Refresh tokens
+ * only name the user; exchanging one re-reads the user's current grant.
+ */
+@Component
+public class AccessTokenService {
+	static final String TYPE_ACCESS = "access";
+	static final String TYPE_REFRESH = "refresh";
+
+	private static final String HEADER = base64(
+			"{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private final AuthorizationSnapshotService authorizationSnapshotService;
+	private final TokenRevocationService tokenRevocationService;
+	private final ObjectMapper objectMapper;
+	private final SecretKeySpec key;
+	private final Duration accessTtl;
+	private final Duration refreshTtl;
+	private final String issuer;
+	private final ThreadLocal<Mac> macs;
+
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	public AccessTokenService(AuthorizationSnapshotService authorizationSnapshotService,
+			TokenRevocationService tokenRevocationService, ObjectMapper objectMapper,
+			@Value("${app.auth.token.secret:}") String secret,
+			@Value("${app.auth.token.access-ttl:5m}") Duration accessTtl,
+			@Value("${app.auth.token.refresh-ttl:7d}") Duration refreshTtl,
+			@Value("${app.auth.token.issuer:rbac-iam}") String issuer) {
+		this.authorizationSnapshotService = authorizationSnapshotService;
+		this.tokenRevocationService = tokenRevocationService;
+		this.objectMapper = objectMapper;
+		this.accessTtl = accessTtl;
+		this.refreshTtl = refreshTtl;
+		this.issuer = issuer;
+		byte[] keyBytes;
+		if (secret == null || secret.isBlank()) {
+			keyBytes = new byte[32];
+			new SecureRandom().nextBytes(keyBytes);
+			logger.warn("SERVICE_LOG | app.auth.token.secret is not set; using a random key, tokens will not survive "
+					+ "a restart or work across instances");
+		} else {
+			keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+			if (keyBytes.length < 32) {
+				throw new IllegalStateException("app.auth.token.secret must be at least 32 bytes");
+			}
+		}
+		this.key = new SecretKeySpec(keyBytes, "HmacSHA256");
+		this.macs = ThreadLocal.withInitial(() -> {
+			try {
+				Mac mac = Mac.getInstance("HmacSHA256");
+				mac.init(key);
+				return mac;
+			} catch (GeneralSecurityException ex) {
+				throw new IllegalStateException("HmacSHA256 is not available", ex);
+			}
+		});
+	}
+
+	public TokenPair issue(AuthPrincipal principal) {
+		Instant now = Instant.now();
+		AuthorizationSnapshot snapshot = authorizationSnapshotService.snapshot();
+
+		Map<String, Object> access = new LinkedHashMap<>();
+		access.put("iss", issuer);
+		access.put("sub", String.valueOf(principal.getUserId()));
+		access.put("typ", TYPE_ACCESS);
+		access.put("cid", principal.getCompanyId());
+		access.put("rid", principal.getRoleId());
+		access.put("rn", principal.getRoleName());
+		access.put("ca", principal.isCompanyActive());
+		access.put("perm", encodeBits(principal.permissionBits()));
+		access.put("pv", snapshot.permissionIndexVersion());
+		access.put("iat", now.getEpochSecond());
+		access.put("exp", now.plus(accessTtl).getEpochSecond());
+
+		Map<String, Object> refresh = new LinkedHashMap<>();
+		refresh.put("iss", issuer);
+		refresh.put("sub", String.valueOf(principal.getUserId()));
+		refresh.put("typ", TYPE_REFRESH);
+		refresh.put("jti", UUID.randomUUID().toString());
+		refresh.put("iat", now.getEpochSecond());
+		refresh.put("exp", now.plus(refreshTtl).getEpochSecond());
+
+		return new TokenPair(sign(access), sign(refresh), accessTtl.toSeconds());
+	}
+
+	/**
+	 * Verifies an access token and rebuilds its principal. Tokens of a revoked user or
+	 * company are rejected. When the user's grant or role has changed, or the permission
+	 * index has changed since issue, the claims are stale and the grant is resolved again
+	 * instead.
+	 */
+	public Optional<AuthPrincipal> verifyAccess(String token) {
+		return verify(token, TYPE_ACCESS).flatMap(claims -> {
+			Long userId = Long.valueOf((String) claims.get("sub"));
+			Long companyId = asLong(claims.get("cid"));
+			Long roleId = asLong(claims.get("rid"));
+			long issuedAt = asLong(claims.get("iat"));
+			if (tokenRevocationService.isRevoked(SubjectType.USER, userId, issuedAt)
+					|| tokenRevocationService.isRevoked(SubjectType.COMPANY, companyId, issuedAt)) {
+				return Optional.empty();
+			}
+			AuthorizationSnapshot snapshot = authorizationSnapshotService.snapshot();
+			if (tokenRevocationService.isRevoked(SubjectType.USER_GRANT, userId, issuedAt)
+					|| tokenRevocationService.isRevoked(SubjectType.ROLE, roleId, issuedAt)
+					|| !snapshot.permissionIndexVersion().equals(claims.get("pv"))) {
+				return authorizationSnapshotService.findUser(userId).map(grant -> new AuthPrincipal(grant, snapshot));
+			}
+			String roleName = (String) claims.get("rn");
+			boolean companyActive = Boolean.TRUE.equals(claims.get("ca"));
+			long[] permissions = decodeBits((String) claims.get("perm"));
+			return Optional.of(new AuthPrincipal(userId, companyId, roleId, roleName, companyActive, permissions,
+					snapshot));
+		});
+	}
+
+	/** Returns the user id named by a valid refresh token that has not been revoked. */
+	public Optional<Long> verifyRefresh(String token) {
+		return verify(token, TYPE_REFRESH)
+				.filter(claims -> !tokenRevocationService.isRevoked(SubjectType.USER,
+						Long.valueOf((String) claims.get("sub")), asLong(claims.get("iat"))))
+				.map(claims -> Long.valueOf((String) claims.get("sub")));
+	}
+
+	/**
+	 * Checks signature, issuer, type and expiry and returns the claims. Any malformed
+	 * input is simply an invalid token.
+	 */
+	Optional<Map<String, Object>> verify(String token, String expectedType) {
+		if (token == null) {
+			return Optional.empty();
+		}
+		int first = token.indexOf('.');
+		int second = token.indexOf('.', first + 1);
+		if (first <= 0 || second <= first + 1 || token.indexOf('.', second + 1) >= 0) {
+			return Optional.empty();
+		}
+		try {
+			if (!HEADER.equals(token.substring(0, first))) {
+				return Optional.empty();
+			}
+			byte[] expected = mac(token.substring(0, second));
+			byte[] actual = DECODER.decode(token.substring(second + 1));
+			if (!MessageDigest.isEqual(expected, actual)) {
+				return Optional.empty();
+			}
+			Map<String, Object> claims = objectMapper.readValue(DECODER.decode(token.substring(first + 1, second)),
+					new TypeReference<Map<String, Object>>() {
+					});
+			Long exp = asLong(claims.get("exp"));
+			if (!issuer.equals(claims.get("iss")) || !expectedType.equals(claims.get("typ")) || exp == null
+					|| asLong(claims.get("iat")) == null
+					|| Instant.now().getEpochSecond() >= exp || !(claims.get("sub") instanceof String)) {
+				return Optional.empty();
+			}
+			return Optional.of(claims);
+		} catch (IllegalArgumentException | IOException ex) {
+			return Optional.empty();
+		}
+	}
+
+	private String sign(Map<String, Object> claims) {
+		try {
+			String unsigned = HEADER + "." + base64(objectMapper.writeValueAsBytes(claims));
+			return unsigned + "." + base64(mac(unsigned));
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Could not encode token claims", ex);
+		}
+	}
+
+	private byte[] mac(String data) {
+		return macs.get().doFinal(data.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	private static String base64(byte[] bytes) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+
+	static String encodeBits(long[] bits) {
+		int words = bits.length;
+		while (words > 0 && bits[words - 1] == 0) {
+			words--;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(words * Long.BYTES);
+		for (int i = 0; i < words; i++) {
+			buffer.putLong(bits[i]);
+		}
+		return ENCODER.encodeToString(buffer.array());
+	}
+
+	static long[] decodeBits(String encoded) {
+		byte[] bytes = DECODER.decode(encoded == null ? "" : encoded);
+		if (bytes.length % Long.BYTES != 0) {
+			throw new IllegalArgumentException("Malformed permission bitset");
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		long[] bits = new long[bytes.length / Long.BYTES];
+		for (int i = 0; i < bits.length; i++) {
+			bits[i] = buffer.getLong();
+		}
+		return bits;
+	}
+
+	private static Long asLong(Object value) {
+		return value instanceof Number number ? number.longValue() : null;
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static final class TokenPair {
+		private final String accessToken;
+		private final String refreshToken;
+		private final long expiresIn;
+	}
+}
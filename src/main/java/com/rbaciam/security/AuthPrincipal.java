@@ -0,0 +1,75 @@
+package com.rbaciam.security;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * The caller of the current request, resolved once and shared by every service the request
+ * touches. Immutable: the permission bitset is the role's grants at resolution time.
+ */
+@Getter
+public final class AuthPrincipal {
+
+	public static final String REQUEST_ATTRIBUTE = AuthPrincipal.class.getName();
+
+	private final Long userId;
+	private final Long companyId;
+	private final Long roleId;
+	private final String roleName;
+	private final boolean companyActive;
+
+	@Getter(AccessLevel.NONE)
+	private final long[] permissions;
+	@Getter(AccessLevel.NONE)
+	private final AuthorizationSnapshot snapshot;
+
+	AuthPrincipal(UserGrant grant, AuthorizationSnapshot snapshot) {
+		this.userId = grant.getUserId();
+		this.companyId = grant.getCompanyId();
+		this.roleId = grant.getRoleId();
+		this.roleName = snapshot.roleNameOf(grant.getRoleId());
+		this.companyActive = grant.isCompanyActive();
+		this.permissions = snapshot.grantsOf(grant.getRoleId()).clone();
+		this.snapshot = snapshot;
+	}
+
+	/**
+	 * Rebuilds a principal from the claims of a verified access token. The bitset must
+	 * come from a snapshot with the same permission index version.
+	 */
+	AuthPrincipal(Long userId, Long companyId, Long roleId, String roleName, boolean companyActive,
+			long[] permissions, AuthorizationSnapshot snapshot) {
+		this.userId = userId;
+		this.companyId = companyId;
+		this.roleId = roleId;
+		this.roleName = roleName;
+		this.companyActive = companyActive;
+		this.permissions = permissions.clone();
+		this.snapshot = snapshot;
+	}
+
+	/** The permission bitset, for encoding into access tokens. */
+	long[] permissionBits() {
+		return permissions.clone();
+	}
+
+	public boolean hasPermission(String permissionName) {
+		return AccessPolicy.has(snapshot, permissions, permissionName);
+	}
+
+	public boolean isSuperAdmin() {
+		return hasPermission(AccessPolicy.SUPER_ADMIN_ACCESS);
+	}
+
+	public boolean isAdmin() {
+		return hasPermission(AccessPolicy.ADMIN_ACCESS);
+	}
+
+	public boolean canManage(Long targetCompanyId) {
+		return AccessPolicy.canManage(snapshot, permissions, companyId, targetCompanyId);
+	}
+
+	public boolean canView(Long targetCompanyId) {
+		return AccessPolicy.canView(snapshot, permissions, companyId, targetCompanyId);
+	}
+}
@@ -0,0 +1,67 @@
+package com.rbaciam.security;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Describes how much of the data a caller may see, for use in cache keys
+ * ({@code @authScope.of(#userId)}).
+ *
+ * A cached read skips the method body and with it the access check, so every cached
+ * entry is keyed by the scope of the caller that produced it. Two callers only share
+ * an entry when the check would have gone the same way for both. Callers without
+ * access resolve to {@link #NONE}; cache conditions exclude them so the method runs and
+ * rejects them as before.
+ */
+@Component("authScope")
+@RequiredArgsConstructor
+public class AuthorizationScope {
+	public static final String NONE = "NONE";
+	public static final String SUPER = "SUPER";
+	public static final String ADMIN = "ADMIN";
+	public static final String USER = "USER";
+	public static final String MEMBER = "MEMBER";
+
+	private final PrincipalResolver principalResolver;
+
+	/**
+	 * Access level without company: {@code SUPER}, {@code ADMIN}, {@code USER},
+	 * {@code MEMBER} or {@code NONE} for unknown users.
+	 */
+	public String level(Long userId) {
+		return principalResolver.resolve(userId).map(AuthorizationScope::levelOf).orElse(NONE);
+	}
+
+	/**
+	 * Access level together with the caller's company, e.g. {@code ADMIN:12}. Super admins
+	 * see every company, so their scope carries no company.
+	 */
+	public String of(Long userId) {
+		return principalResolver.resolve(userId).map(principal -> {
+			String level = levelOf(principal);
+			return SUPER.equals(level) ? level : level + ":" + principal.getCompanyId();
+		}).orElse(NONE);
+	}
+
+	/**
+	 * True when the caller passes the admin gate of the role and permission reads.
+	 */
+	public boolean isAdmin(Long userId) {
+		String level = level(userId);
+		return SUPER.equals(level) || ADMIN.equals(level);
+	}
+
+	private static String levelOf(AuthPrincipal principal) {
+		if (principal.isSuperAdmin()) {
+			return SUPER;
+		}
+		if (principal.isAdmin()) {
+			return ADMIN;
+		}
+		if (principal.hasPermission(AccessPolicy.USER_ACCESS)) {
+			return USER;
+		}
+		return MEMBER;
+	}
+}
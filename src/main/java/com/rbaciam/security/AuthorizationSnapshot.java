@@ -0,0 +1,107 @@
+package com.rbaciam.security;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable, compiled view of the role/permission matrix.
+ *
+ * Permission names are interned to dense bit positions (ordered by permission id,
+ * so positions are stable as long as permissions are only ever appended) and
+ * every role is reduced to a bitset over those positions. A permission check is
+ * a map lookup plus a word test; the snapshot is never mutated, it is rebuilt and
+ * swapped as a whole by {@link AuthorizationSnapshotService}.
+ */
+public final class AuthorizationSnapshot {
+
+	private static final long[] NO_GRANTS = new long[0];
+
+	private final Map<String, Integer> permissionIndex;
+	private final Map<Long, long[]> roleGrants;
+	private final Map<Long, String> roleNames;
+	private final String permissionIndexVersion;
+
+	AuthorizationSnapshot(Map<String, Integer> permissionIndex, Map<Long, long[]> roleGrants,
+			Map<Long, String> roleNames) {
+		this.permissionIndex = Collections.unmodifiableMap(new HashMap<>(permissionIndex));
+		this.roleGrants = Collections.unmodifiableMap(new HashMap<>(roleGrants));
+		this.roleNames = Collections.unmodifiableMap(new HashMap<>(roleNames));
+		this.permissionIndexVersion = fingerprint(this.permissionIndex);
+	}
+
+	/**
+	 * Returns the bit position of the permission, or -1 if no such permission exists.
+	 */
+	public int bitOf(String permissionName) {
+		Integer bit = permissionName == null ? null : permissionIndex.get(permissionName);
+		return bit == null ? -1 : bit;
+	}
+
+	/**
+	 * Returns the permission bitset of the role. The array is shared and must not be modified.
+	 */
+	public long[] grantsOf(Long roleId) {
+		long[] grants = roleId == null ? null : roleGrants.get(roleId);
+		return grants == null ? NO_GRANTS : grants;
+	}
+
+	public String roleNameOf(Long roleId) {
+		return roleId == null ? null : roleNames.get(roleId);
+	}
+
+	public boolean roleHas(Long roleId, String permissionName) {
+		return test(grantsOf(roleId), bitOf(permissionName));
+	}
+
+	/**
+	 * Identifies the name-to-bit mapping. Bitsets taken from another snapshot (e.g.
+	 * carried in an access token) can only be read against this one when the versions match.
+	 */
+	public String permissionIndexVersion() {
+		return permissionIndexVersion;
+	}
+
+	public int permissionCount() {
+		return permissionIndex.size();
+	}
+
+	public int roleCount() {
+		return roleGrants.size();
+	}
+
+	/** 64-bit FNV-1a over the permission names in bit order. */
+	private static String fingerprint(Map<String, Integer> permissionIndex) {
+		String[] byBit = new String[permissionIndex.size()];
+		permissionIndex.forEach((name, bit) -> {
+			if (bit < byBit.length) {
+				byBit[bit] = name;
+			}
+		});
+		long hash = 0xcbf29ce484222325L;
+		for (String name : byBit) {
+			String value = String.valueOf(name) + '\n';
+			for (int i = 0; i < value.length(); i++) {
+				hash ^= value.charAt(i);
+				hash *= 0x100000001b3L;
+			}
+		}
+		return Long.toHexString(hash);
+	}
+
+	static boolean test(long[] bits, int bit) {
+		if (bit < 0) {
+			return false;
+		}
+		int word = bit >>> 6;
+		return word < bits.length && (bits[word] & (1L << bit)) != 0;
+	}
+
+	static long[] set(long[] bits, int bit) {
+		int word = bit >>> 6;
+		long[] target = word < bits.length ? bits : Arrays.copyOf(bits, word + 1);
+		target[word] |= 1L << bit;
+		return target;
+	}
+}
@@ -0,0 +1,232 @@
+package com.rbaciam.security;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rbaciam.entity.Permission;
+import com.rbaciam.repository.PermissionRepository;
+import com.rbaciam.repository.RolePermissionRepository;
+import com.rbaciam.repository.RoleRepository;
+import com.rbaciam.repository.UserRepository;
+
+/**
+ * Owns the current {@link AuthorizationSnapshot} and the per-user role/company index.
+ *
+ * The role/permission snapshot is rebuilt from three small queries and published with a
+ * single reference swap, so readers never see a half-built matrix. User grants are
+ * loaded on first use into a bounded cache and evicted by the services that change a
+ * user's role, company or deleted state. The eviction is repeated once the writing
+ * transaction completes, so a grant read concurrently from the old row cannot outlive
+ * the change; the time-to-live caps how long any missed eviction can last.
+ */
+@Component
+public class AuthorizationSnapshotService {
+	private final PermissionRepository permissionRepository;
+	private final RolePermissionRepository rolePermissionRepository;
+	private final UserRepository userRepository;
+	private final RoleRepository roleRepository;
+
+	private final AtomicReference<AuthorizationSnapshot> current = new AtomicReference<>();
+	private final Cache<Long, UserGrant> userGrants;
+	// A lock rather than synchronized: the rebuild runs JDBC, which would pin a virtual thread's carrier
+	private final ReentrantLock rebuildLock = new ReentrantLock();
+
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	public AuthorizationSnapshotService(PermissionRepository permissionRepository,
+			RolePermissionRepository rolePermissionRepository, UserRepository userRepository,
+			RoleRepository roleRepository,
+			@Value("${app.auth.grants.max-size:100000}") long grantsMaxSize,
+			@Value("${app.auth.grants.ttl:10m}") Duration grantsTtl) {
+		this.permissionRepository = permissionRepository;
+		this.rolePermissionRepository = rolePermissionRepository;
+		this.userRepository = userRepository;
+		this.roleRepository = roleRepository;
+		this.userGrants = Caffeine.newBuilder()
+				.maximumSize(grantsMaxSize)
+				.expireAfterWrite(grantsTtl)
+				.build();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		rebuild();
+	}
+
+	public AuthorizationSnapshot snapshot() {
+		AuthorizationSnapshot snapshot = current.get();
+		return snapshot != null ? snapshot : rebuild();
+	}
+
+	public AuthorizationSnapshot rebuild() {
+		rebuildLock.lock();
+		try {
+			return doRebuild();
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	private AuthorizationSnapshot doRebuild() {
+		List<Permission> permissions = permissionRepository.findAll(Sort.by("id"));
+		Map<Long, Integer> bitByPermissionId = new HashMap<>();
+		Map<String, Integer> permissionIndex = new HashMap<>();
+		for (Permission permission : permissions) {
+			int bit = bitByPermissionId.size();
+			bitByPermissionId.put(permission.getId(), bit);
+			permissionIndex.put(permission.getName(), bit);
+		}
+
+		Map<Long, long[]> roleGrants = new HashMap<>();
+		for (RolePermissionRepository.RoleGrantView grant : rolePermissionRepository.findAllGrants()) {
+			Integer bit = bitByPermissionId.get(grant.getPermissionId());
+			if (bit == null) {
+				continue;
+			}
+			long[] bits = roleGrants.getOrDefault(grant.getRoleId(), new long[0]);
+			roleGrants.put(grant.getRoleId(), AuthorizationSnapshot.set(bits, bit));
+		}
+
+		Map<Long, String> roleNames = new HashMap<>();
+		for (RoleRepository.NameView role : roleRepository.findAllNames()) {
+			roleNames.put(role.getRoleId(), role.getName());
+		}
+
+		AuthorizationSnapshot snapshot = new AuthorizationSnapshot(permissionIndex, roleGrants, roleNames);
+		current.set(snapshot);
+		logger.info("TRACE_LOG | Action=REBUILD_AUTHZ_SNAPSHOT | Permissions={} | Roles={}",
+				snapshot.permissionCount(), snapshot.roleCount());
+		return snapshot;
+	}
+
+	/**
+	 * Rebuilds the snapshot once the surrounding transaction has committed, or right away
+	 * when there is no transaction. Rebuilding before commit would publish grants that a
+	 * rollback could still take back.
+	 */
+	public void rebuildAfterCommit() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			rebuild();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				rebuild();
+			}
+		});
+	}
+
+	public Optional<UserGrant> findUser(Long userId) {
+		if (userId == null) {
+			return Optional.empty();
+		}
+		UserGrant grant = userGrants.getIfPresent(userId);
+		if (grant != null) {
+			return Optional.of(grant);
+		}
+		Optional<UserGrant> loaded = userRepository.findGrantById(userId)
+				.map(AuthorizationSnapshotService::toGrant);
+		loaded.ifPresent(value -> userGrants.asMap().putIfAbsent(userId, value));
+		return loaded;
+	}
+
+	/**
+	 * Resolves many users at once: cached grants are served from memory and all misses
+	 * are loaded with a single query. Unknown or deleted users are absent from the result.
+	 */
+	public Map<Long, UserGrant> findUsers(Collection<Long> userIds) {
+		Map<Long, UserGrant> result = new HashMap<>();
+		Set<Long> missing = new HashSet<>();
+		for (Long userId : userIds) {
+			if (userId == null) {
+				continue;
+			}
+			UserGrant grant = userGrants.getIfPresent(userId);
+			if (grant != null) {
+				result.put(userId, grant);
+			} else {
+				missing.add(userId);
+			}
+		}
+		if (!missing.isEmpty()) {
+			for (UserRepository.GrantView view : userRepository.findGrantsByIdIn(missing)) {
+				UserGrant grant = toGrant(view);
+				userGrants.asMap().putIfAbsent(grant.getUserId(), grant);
+				result.put(grant.getUserId(), grant);
+			}
+		}
+		return result;
+	}
+
+	public boolean hasPermission(Long userId, String permissionName) {
+		return findUser(userId).map(grant -> snapshot().roleHas(grant.getRoleId(), permissionName)).orElse(false);
+	}
+
+	public void evictUser(Long userId) {
+		if (userId != null) {
+			evictUsers(List.of(userId));
+		}
+	}
+
+	/**
+	 * Drops the users' grants now and again when the surrounding transaction completes.
+	 * Until the commit, a concurrent lookup still reads the old row and may cache it again;
+	 * the second eviction removes that copy.
+	 */
+	public void evictUsers(Collection<Long> userIds) {
+		List<Long> ids = userIds.stream().filter(Objects::nonNull).toList();
+		userGrants.invalidateAll(ids);
+		afterCompletion(() -> userGrants.invalidateAll(ids));
+	}
+
+	public void evictAllUsers() {
+		userGrants.invalidateAll();
+		afterCompletion(userGrants::invalidateAll);
+	}
+
+	private static void afterCompletion(Runnable eviction) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			// Ahead of other completion callbacks: token revocations stamp their time after it
+			@Override
+			public int getOrder() {
+				return Ordered.HIGHEST_PRECEDENCE;
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				eviction.run();
+			}
+		});
+	}
+
+	private static UserGrant toGrant(UserRepository.GrantView view) {
+		return new UserGrant(view.getUserId(), view.getRoleId(), view.getCompanyId(),
+				Boolean.TRUE.equals(view.getCompanyActive()));
+	}
+}
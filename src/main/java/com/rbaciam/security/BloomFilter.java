@@ -0,0 +1,70 @@
+package com.rbaciam.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size Bloom filter over {@code long} keys. {@link #mightContain} never returns
+ * false for a key that was added, so a negative answer is final and only positives need
+ * an exact lookup. Adds are lock-free and safe to run alongside reads.
+ */
+final class BloomFilter {
+	private final AtomicLongArray words;
+	private final int bits;
+	private final int hashes;
+
+	BloomFilter(int expectedEntries, double falsePositiveRate) {
+		int n = Math.max(expectedEntries, 1);
+		long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		this.bits = (int) Math.min(Math.max(m, Long.SIZE), Integer.MAX_VALUE - Long.SIZE);
+		this.hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+		this.words = new AtomicLongArray((bits + Long.SIZE - 1) / Long.SIZE);
+	}
+
+	void add(long key) {
+		long hash = mix(key);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < hashes; i++) {
+			int bit = index(h1 + i * h2);
+			long mask = 1L << bit;
+			int word = bit >>> 6;
+			long current;
+			do {
+				current = words.get(word);
+			} while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+		}
+	}
+
+	boolean mightContain(long key) {
+		long hash = mix(key);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < hashes; i++) {
+			int bit = index(h1 + i * h2);
+			if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	int bits() {
+		return bits;
+	}
+
+	int hashes() {
+		return hashes;
+	}
+
+	private int index(int combined) {
+		return (combined & Integer.MAX_VALUE) % bits;
+	}
+
+	/** SplitMix64 finalizer, so consecutive ids spread over the whole bit array. */
+	private static long mix(long key) {
+		long z = key + 0x9e3779b97f4a7c15L;
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+}
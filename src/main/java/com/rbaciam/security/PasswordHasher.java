@@ -0,0 +1,84 @@
+package com.rbaciam.security;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.rbaciam.exception.InternalServerException;
+import com.rbaciam.exception.ServiceUnavailableException;
+
+/**
+ * Runs {@link PasswordEncoder} work on the bounded {@code passwordHashExecutor}. When the
+ * pool and its queue are full the call fails at once with
+ * {@link ServiceUnavailableException} rather than waiting for a slot.
+ */
+@Component
+public class PasswordHasher {
+	private final PasswordEncoder passwordEncoder;
+	private final TaskExecutor executor;
+	private final Duration timeout;
+
+	/**
+	 * Compared against when the account does not exist, so unknown emails cost the same
+	 * BCrypt round as wrong passwords.
+	 */
+	private final String dummyHash;
+
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	public PasswordHasher(PasswordEncoder passwordEncoder,
+			@Qualifier("passwordHashExecutor") TaskExecutor executor,
+			@Value("${app.auth.hash.timeout:5s}") Duration timeout) {
+		this.passwordEncoder = passwordEncoder;
+		this.executor = executor;
+		this.timeout = timeout;
+		this.dummyHash = passwordEncoder.encode("not-a-real-password");
+	}
+
+	/**
+	 * Checks a password against a stored hash without blocking the caller; a null hash
+	 * is checked against a dummy hash and never matches.
+	 */
+	public CompletableFuture<Boolean> matchesAsync(CharSequence rawPassword, String encodedPassword) {
+		String hash = encodedPassword != null ? encodedPassword : dummyHash;
+		return submit(() -> passwordEncoder.matches(rawPassword, hash) && encodedPassword != null);
+	}
+
+	/**
+	 * Hashes a password on the pool and waits for the result, for callers that must stay
+	 * on their own thread (e.g. inside a transaction).
+	 */
+	public String encode(CharSequence rawPassword) {
+		try {
+			return submit(() -> passwordEncoder.encode(rawPassword)).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new ServiceUnavailableException("Password hashing was interrupted");
+		} catch (TimeoutException ex) {
+			throw new ServiceUnavailableException("Password hashing timed out, please retry");
+		} catch (ExecutionException ex) {
+			throw new InternalServerException("Password hashing failed");
+		}
+	}
+
+	private <T> CompletableFuture<T> submit(Supplier<T> work) {
+		try {
+			return CompletableFuture.supplyAsync(work, executor);
+		} catch (TaskRejectedException ex) {
+			logger.warn("TRACE_LOG | Action=PASSWORD_HASH_REJECTED | Reason=pool saturated");
+			throw new ServiceUnavailableException("Too many authentication requests, please retry");
+		}
+	}
+}
@@ -0,0 +1,170 @@
+package com.rbaciam.security;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rbaciam.dto.ErrorResponseDTO;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Resolves the caller once per request and stores it as a request attribute for
+ * {@link PrincipalResolver}.
+ * <p>
+ * A {@code Authorization: Bearer} access token is verified locally and its claims become
+ * the principal without a database read; the {@code X-User-Id} and
+ * {@code X-Requester-ID} headers seen by the controllers are then pinned to the token's
+ * subject so they cannot name someone else. Without a token the caller named by those
+ * headers is resolved as before, unless {@code app.auth.token.required} is set, in which
+ * case API calls outside {@code /api/auth/} are rejected. An invalid or expired token is
+ * rejected everywhere except under {@code /api/auth/}, where it is ignored so that a
+ * client can still log in or refresh.
+ */
+@Component
+public class PrincipalFilter extends OncePerRequestFilter {
+
+	static final String USER_ID_HEADER = "X-User-Id";
+	static final String REQUESTER_ID_HEADER = "X-Requester-ID";
+	private static final String BEARER_PREFIX = "Bearer ";
+
+	private final PrincipalResolver principalResolver;
+	private final AccessTokenService accessTokenService;
+	private final ObjectMapper objectMapper;
+	private final boolean tokenRequired;
+
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	public PrincipalFilter(PrincipalResolver principalResolver, AccessTokenService accessTokenService,
+			ObjectMapper objectMapper, @Value("${app.auth.token.required:false}") boolean tokenRequired) {
+		this.principalResolver = principalResolver;
+		this.accessTokenService = accessTokenService;
+		this.objectMapper = objectMapper;
+		this.tokenRequired = tokenRequired;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if (authorization != null && authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+			Optional<AuthPrincipal> principal;
+			try {
+				principal = accessTokenService.verifyAccess(authorization.substring(BEARER_PREFIX.length()).trim());
+			} catch (DataAccessException ex) {
+				logger.error("SERVICE_LOG | Could not resolve principal for access token: {}", ex.getMessage());
+				principal = Optional.empty();
+			}
+			if (principal.isPresent()) {
+				request.setAttribute(AuthPrincipal.REQUEST_ATTRIBUTE, principal.get());
+				filterChain.doFilter(new TokenSubjectRequest(request, String.valueOf(principal.get().getUserId())),
+						response);
+				return;
+			}
+			// Login and refresh must stay reachable with an expired token still attached
+			if (!isAuthPath(request)) {
+				reject(response, "Invalid or expired access token");
+				return;
+			}
+		}
+
+		if (tokenRequired && requiresToken(request)) {
+			reject(response, "Access token required");
+			return;
+		}
+
+		Long userId = parseUserId(request.getHeader(USER_ID_HEADER));
+		if (userId == null) {
+			userId = parseUserId(request.getHeader(REQUESTER_ID_HEADER));
+		}
+		if (userId != null) {
+			try {
+				principalResolver.resolve(userId)
+						.ifPresent(principal -> request.setAttribute(AuthPrincipal.REQUEST_ATTRIBUTE, principal));
+			} catch (DataAccessException ex) {
+				logger.error("SERVICE_LOG | Could not resolve principal for userId={}: {}", userId, ex.getMessage());
+			}
+		}
+		filterChain.doFilter(request, response);
+	}
+
+	private static boolean requiresToken(HttpServletRequest request) {
+		return pathOf(request).startsWith("/api/") && !isAuthPath(request);
+	}
+
+	private static boolean isAuthPath(HttpServletRequest request) {
+		return pathOf(request).startsWith("/api/auth/");
+	}
+
+	private static String pathOf(HttpServletRequest request) {
+		return request.getRequestURI().substring(request.getContextPath().length());
+	}
+
+	private void reject(HttpServletResponse response, String message) throws IOException {
+		response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+		response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		objectMapper.writeValue(response.getOutputStream(), new ErrorResponseDTO(message, "Authentication failed"));
+	}
+
+	private static Long parseUserId(String header) {
+		if (header == null || header.isBlank()) {
+			return null;
+		}
+		try {
+			return Long.valueOf(header.trim());
+		} catch (NumberFormatException ex) {
+			return null;
+		}
+	}
+
+	/** Presents the token's subject as the caller id headers, whatever the client sent. */
+	private static final class TokenSubjectRequest extends HttpServletRequestWrapper {
+		private final String userId;
+
+		TokenSubjectRequest(HttpServletRequest request, String userId) {
+			super(request);
+			this.userId = userId;
+		}
+
+		private static boolean isCallerHeader(String name) {
+			return USER_ID_HEADER.equalsIgnoreCase(name) || REQUESTER_ID_HEADER.equalsIgnoreCase(name);
+		}
+
+		@Override
+		public String getHeader(String name) {
+			return isCallerHeader(name) ? userId : super.getHeader(name);
+		}
+
+		@Override
+		public Enumeration<String> getHeaders(String name) {
+			return isCallerHeader(name) ? Collections.enumeration(Collections.singletonList(userId))
+					: super.getHeaders(name);
+		}
+
+		@Override
+		public Enumeration<String> getHeaderNames() {
+			Set<String> names = new LinkedHashSet<>(Collections.list(super.getHeaderNames()));
+			names.add(USER_ID_HEADER);
+			names.add(REQUESTER_ID_HEADER);
+			return Collections.enumeration(names);
+		}
+	}
+}
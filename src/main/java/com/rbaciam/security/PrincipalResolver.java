@@ -0,0 +1,57 @@
+package com.rbaciam.security;
+
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.rbaciam.exception.NotFoundException;
+import com.rbaciam.exception.UnauthorizedException;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Hands services the {@link AuthPrincipal} for a user id. Inside a web request the
+ * principal resolved by {@link PrincipalFilter} is reused; anywhere else (or for a
+ * different user id) it is built from the authorization snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalResolver {
+	private final AuthorizationSnapshotService authorizationSnapshotService;
+
+	public Optional<AuthPrincipal> resolve(Long userId) {
+		if (userId == null) {
+			return Optional.empty();
+		}
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes != null) {
+			Object current = attributes.getAttribute(AuthPrincipal.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+			if (current instanceof AuthPrincipal principal && userId.equals(principal.getUserId())) {
+				return Optional.of(principal);
+			}
+		}
+
+		Optional<AuthPrincipal> resolved = authorizationSnapshotService.findUser(userId)
+				.map(grant -> new AuthPrincipal(grant, authorizationSnapshotService.snapshot()));
+		if (attributes != null && resolved.isPresent()
+				&& attributes.getAttribute(AuthPrincipal.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) == null) {
+			attributes.setAttribute(AuthPrincipal.REQUEST_ATTRIBUTE, resolved.get(), RequestAttributes.SCOPE_REQUEST);
+		}
+		return resolved;
+	}
+
+	/**
+	 * Resolves the principal and requires super admin or admin access, the gate used by
+	 * the role and permission read endpoints.
+	 */
+	public AuthPrincipal requireAdminAccess(Long userId) {
+		AuthPrincipal principal = resolve(userId)
+				.orElseThrow(() -> new NotFoundException("User not found or inactive"));
+		if (!principal.isSuperAdmin() && !principal.isAdmin()) {
+			throw new UnauthorizedException("User does not have permission to access this resource");
+		}
+		return principal;
+	}
+}
@@ -0,0 +1,252 @@
+package com.rbaciam.security;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.rbaciam.entity.TokenRevocation;
+import com.rbaciam.entity.TokenRevocation.SubjectType;
+import com.rbaciam.repository.BatchInsertRepository;
+import com.rbaciam.repository.TokenRevocationRepository;
+
+/**
+ * Node-local view of the {@code token_revocations} table. A revocation invalidates every
+ * token issued for a user, company or role up to the moment its transaction committed:
+ * the row is written with the time of the call and re-stamped with the commit time once
+ * the transaction is done, so a token issued from the old state while the transaction was
+ * still open is covered too.
+ * <p>
+ * Lookups first probe a Bloom filter, so the usual not-revoked answer costs a few bit
+ * tests and no allocation. A positive is confirmed against the exact map of
+ * watermarks, so a false positive never rejects a valid token. Revocations made on this
+ * node apply as soon as their transaction commits; those made elsewhere arrive with the
+ * next incremental poll.
+ */
+@Component
+public class TokenRevocationService {
+	/** Tokens issued up to this many seconds after a watermark still count as revoked. */
+	static final long ISSUED_AT_SLACK_SECONDS = 1;
+	private static final int RESTAMP_CHUNK = 500;
+
+	private final TokenRevocationRepository tokenRevocationRepository;
+	private final BatchInsertRepository batchInsertRepository;
+	private final Duration retention;
+	private final Duration pollOverlap;
+	private final int expectedEntries;
+	private final double falsePositiveRate;
+
+	private volatile State state;
+	private volatile LocalDateTime lastPoll;
+
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	public TokenRevocationService(TokenRevocationRepository tokenRevocationRepository,
+			BatchInsertRepository batchInsertRepository,
+			@Value("${app.auth.token.access-ttl:5m}") Duration accessTtl,
+			@Value("${app.auth.token.refresh-ttl:7d}") Duration refreshTtl,
+			@Value("${app.auth.revocation.poll-overlap:60s}") Duration pollOverlap,
+			@Value("${app.auth.revocation.expected-entries:100000}") int expectedEntries,
+			@Value("${app.auth.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+		this.tokenRevocationRepository = tokenRevocationRepository;
+		this.batchInsertRepository = batchInsertRepository;
+		this.retention = accessTtl.compareTo(refreshTtl) > 0 ? accessTtl : refreshTtl;
+		this.pollOverlap = pollOverlap;
+		this.expectedEntries = expectedEntries;
+		this.falsePositiveRate = falsePositiveRate;
+		this.state = new State(new BloomFilter(expectedEntries, falsePositiveRate));
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		reload();
+	}
+
+	/**
+	 * True when a token issued at {@code issuedAt} (epoch seconds) for the subject has been
+	 * revoked. {@code iat} is truncated to the second and node clocks drift slightly, so
+	 * tokens issued up to {@link #ISSUED_AT_SLACK_SECONDS} after the watermark count as
+	 * revoked as well; at worst such a token is re-resolved or has to be refreshed.
+	 */
+	public boolean isRevoked(SubjectType type, Long subjectId, long issuedAt) {
+		if (subjectId == null) {
+			return false;
+		}
+		long key = key(type, subjectId);
+		State current = state;
+		if (!current.filter.mightContain(key)) {
+			return false;
+		}
+		Long watermark = current.watermarks.get(key);
+		return watermark != null && issuedAt <= watermark + ISSUED_AT_SLACK_SECONDS;
+	}
+
+	/**
+	 * Records a revocation for each subject. Runs in the caller's transaction when there is
+	 * one; once it has committed, the rows are re-stamped with the commit time and applied
+	 * locally. That runs after the other completion callbacks, such as grant evictions, so
+	 * the watermark also covers tokens issued from a grant cached until then.
+	 */
+	public void revoke(SubjectType type, Collection<Long> subjectIds, Long revokedBy) {
+		if (subjectIds == null || subjectIds.isEmpty()) {
+			return;
+		}
+		LocalDateTime now = LocalDateTime.now();
+		LocalDateTime expiresAt = now.plus(retention);
+		List<TokenRevocation> rows = new ArrayList<>();
+		for (Long subjectId : new LinkedHashSet<>(subjectIds)) {
+			if (subjectId != null) {
+				rows.add(new TokenRevocation(type, subjectId, now, expiresAt, revokedBy));
+			}
+		}
+		batchInsertRepository.insertTokenRevocations(rows);
+		logger.info("TRACE_LOG | Action=REVOKE_TOKENS | SubjectType={} | Count={} | UserId={}", type, rows.size(),
+				revokedBy);
+
+		List<Long> revokedIds = rows.stream().map(TokenRevocation::getSubjectId).toList();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public int getOrder() {
+					return Ordered.LOWEST_PRECEDENCE;
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					if (status == STATUS_COMMITTED) {
+						stampCommitted(type, revokedIds);
+					}
+				}
+			});
+		} else {
+			stampCommitted(type, revokedIds);
+		}
+	}
+
+	public void revoke(SubjectType type, Long subjectId, Long revokedBy) {
+		revoke(type, List.of(subjectId), revokedBy);
+	}
+
+	/**
+	 * Applies committed revocations locally and moves their rows to the commit time, in a
+	 * transaction of their own, so other nodes pick up the same watermark on their next
+	 * poll. If that update fails, other nodes keep the slightly earlier time of the insert.
+	 */
+	private void stampCommitted(SubjectType type, List<Long> subjectIds) {
+		LocalDateTime committedAt = LocalDateTime.now();
+		State current = state;
+		subjectIds.forEach(subjectId -> apply(current, type, subjectId, committedAt));
+		try {
+			for (int from = 0; from < subjectIds.size(); from += RESTAMP_CHUNK) {
+				tokenRevocationRepository.restamp(type,
+						subjectIds.subList(from, Math.min(from + RESTAMP_CHUNK, subjectIds.size())), committedAt,
+						committedAt.plus(retention));
+			}
+		} catch (DataAccessException ex) {
+			logger.error("SERVICE_LOG | Could not stamp token revocations with their commit time: {}",
+					ex.getMessage());
+		}
+	}
+
+	/**
+	 * Picks up revocations recorded by other nodes. Re-reads a short overlap so rows whose
+	 * transaction committed after the previous poll are not missed; applying a row twice is
+	 * harmless.
+	 */
+	@Scheduled(fixedDelayString = "${app.auth.revocation.poll-interval:5000}")
+	public void poll() {
+		LocalDateTime since = lastPoll;
+		if (since == null) {
+			reload();
+			return;
+		}
+		LocalDateTime started = LocalDateTime.now();
+		try {
+			State current = state;
+			for (TokenRevocationRepository.RevocationView row : tokenRevocationRepository
+					.findRevokedSince(since.minus(pollOverlap))) {
+				apply(current, row.getSubjectType(), row.getSubjectId(), row.getRevokedAt());
+			}
+			lastPoll = started;
+		} catch (DataAccessException ex) {
+			logger.error("SERVICE_LOG | Could not poll token revocations: {}", ex.getMessage());
+		}
+	}
+
+	/**
+	 * Purges rows whose tokens have all expired and rebuilds the filter from what is left,
+	 * since a Bloom filter cannot forget keys.
+	 */
+	@Scheduled(fixedDelayString = "${app.auth.revocation.compact-interval:3600000}",
+			initialDelayString = "${app.auth.revocation.compact-interval:3600000}")
+	public void compact() {
+		try {
+			int purged = tokenRevocationRepository.deleteExpired(LocalDateTime.now());
+			reload();
+			logger.info("TRACE_LOG | Action=COMPACT_REVOCATIONS | Purged={} | Active={}", purged,
+					state.watermarks.size());
+		} catch (DataAccessException ex) {
+			logger.error("SERVICE_LOG | Could not compact token revocations: {}", ex.getMessage());
+		}
+	}
+
+	private void reload() {
+		LocalDateTime started = LocalDateTime.now();
+		try {
+			List<TokenRevocationRepository.RevocationView> rows = tokenRevocationRepository.findActive(started);
+			State fresh = new State(
+					new BloomFilter(Math.max(expectedEntries, rows.size() * 2), falsePositiveRate));
+			rows.forEach(row -> apply(fresh, row.getSubjectType(), row.getSubjectId(), row.getRevokedAt()));
+			// Carry over recent local revocations whose commit may have raced the read
+			long recent = started.minus(pollOverlap).atZone(ZoneId.systemDefault()).toEpochSecond();
+			state.watermarks.forEach((key, watermark) -> {
+				if (watermark >= recent) {
+					fresh.watermarks.merge(key, watermark, Math::max);
+					fresh.filter.add(key);
+				}
+			});
+			state = fresh;
+			lastPoll = started;
+		} catch (DataAccessException ex) {
+			logger.error("SERVICE_LOG | Could not load token revocations: {}", ex.getMessage());
+		}
+	}
+
+	private static void apply(State target, SubjectType type, Long subjectId, LocalDateTime revokedAt) {
+		long key = key(type, subjectId);
+		long watermark = revokedAt.atZone(ZoneId.systemDefault()).toEpochSecond();
+		// Exact entry first, so a reader that sees the filter bit also finds the watermark
+		target.watermarks.merge(key, watermark, Math::max);
+		target.filter.add(key);
+	}
+
+	private static long key(SubjectType type, long subjectId) {
+		return (subjectId << 2) | type.ordinal();
+	}
+
+	private static final class State {
+		private final BloomFilter filter;
+		private final Map<Long, Long> watermarks = new ConcurrentHashMap<>();
+
+		State(BloomFilter filter) {
+			this.filter = filter;
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package com.rbaciam.security;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The authorization-relevant part of an active user: who they are, which role they hold,
+ * which company they belong to and whether that company is still active.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class UserGrant {
+	private final Long userId;
+	private final Long roleId;
+	private final Long companyId;
+	private final boolean companyActive;
+}
@@ -0,0 +1,16 @@
+package com.rbaciam.service;
+
+public interface ArchiveService {
+
+	/**
+	 * Runs one archival pass over users, roles and companies and returns how many rows
+	 * were moved to the archive tables.
+	 */
+	int archiveDeleted();
+
+	void restoreUser(Long id, Long userId);
+
+	void restoreRole(Long id, Long userId);
+
+	void restoreCompany(Long id, Long userId);
+}
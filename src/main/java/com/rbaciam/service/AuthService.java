@@ -0,0 +1,22 @@
+package com.rbaciam.service;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.rbaciam.dto.LoginResponseDTO;
+import com.rbaciam.entity.LoginRequest;
+
+public interface AuthService {
+
+	/**
+	 * Verifies the credentials. The password check completes on the password hashing
+	 * pool, so the returned future fails with an authentication error rather than the
+	 * call throwing.
+	 */
+	CompletableFuture<LoginResponseDTO> login(LoginRequest request);
+
+	/**
+	 * Exchanges a refresh token for a new token pair built from the user's current role
+	 * and company. The refresh token is not revoked; it simply expires.
+	 */
+	LoginResponseDTO refresh(String refreshToken);
+}
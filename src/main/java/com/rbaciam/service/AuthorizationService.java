@@ -0,0 +1,9 @@
+package com.rbaciam.service;
+
+import com.rbaciam.dto.AuthzBatchCheckRequestDTO;
+import com.rbaciam.dto.AuthzBatchCheckResponseDTO;
+
+public interface AuthorizationService {
+
+	AuthzBatchCheckResponseDTO checkBatch(AuthzBatchCheckRequestDTO request, Long userId);
+}
@@ -31,7 +31,7 @@ public interface CompanyService {
 
 	 PaginatedResponse<CompanyDTO> filterCompanies(String country, String industry,
 		        LocalDateTime createdFrom, LocalDateTime createdTo,
-		        int page, int size, Long userId);
+		        int page, int size, Long userId, String after, Boolean includeTotal);
 
 	PaginatedResponse<GetAllComapanyDTO> getAllCompaniesSearch(int page, int size, Long userId, String search);
 }
\ No newline at end of file
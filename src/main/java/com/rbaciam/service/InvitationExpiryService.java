@@ -0,0 +1,10 @@
+package com.rbaciam.service;
+
+public interface InvitationExpiryService {
+
+	/**
+	 * Expires invitations that have been pending longer than the configured TTL and returns
+	 * how many users were expired.
+	 */
+	int expireStaleInvitations();
+}
@@ -0,0 +1,33 @@
+package com.rbaciam.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.rbaciam.dto.CountryResponse;
+import com.rbaciam.dto.IndustryResponse;
+import com.rbaciam.dto.ReferenceDataBody;
+import com.rbaciam.dto.TimezoneResponse;
+
+/**
+ * Countries, timezones and industries, held in memory and served as pre-serialized JSON.
+ */
+public interface ReferenceDataService {
+
+	ReferenceDataBody countriesJson(Long userId);
+
+	ReferenceDataBody timezonesJson(Long userId);
+
+	ReferenceDataBody industriesJson(Long userId);
+
+	List<CountryResponse> countries();
+
+	List<TimezoneResponse> timezones();
+
+	List<IndustryResponse> industries();
+
+	/**
+	 * Re-reads the tables on this instance. Super Admin only; returns the number of rows
+	 * loaded per data set.
+	 */
+	Map<String, Integer> reload(Long userId);
+}
@@ -8,16 +8,18 @@ import com.rbaciam.dto.CreateRoleDTO;
 import com.rbaciam.dto.PaginatedResponse;
 import com.rbaciam.dto.PermissionDTO;
 import com.rbaciam.dto.RoleDTO;
+import com.rbaciam.dto.RoleMergeResponseDTO;
 
 public interface RoleService {
     void assignPermissionsToRole(Long roleId, List<Long> permissionIds, Long userId);
-    void removePermissionsFromRole(Long roleId, List<Long> permissionIds, Long userId);
+    int removePermissionsFromRole(Long roleId, List<Long> permissionIds, Long userId);
     List<PermissionDTO> getRolePermissions(Long roleId, Long userId);
 	CreateRoleDTO createRole(CreateRoleDTO roleDTO, Long userId);
 	CreateRoleDTO updateRole(Long id, CreateRoleDTO roleDTO, Long userId);
     void deleteRole(Long id, Long userId);
+    RoleMergeResponseDTO mergeRoles(Long sourceRoleId, Long targetRoleId, boolean deleteSource, Long userId);
     Optional<RoleDTO> getRoleById(Long userId,Long roleId);
     PaginatedResponse<RoleDTO> getAllRoles(Long userId,int page,int size,String search);
-    PaginatedResponse<RoleDTO> filterRoles(String name, Long permissionId, LocalDateTime createdFrom, LocalDateTime createdTo, int page, int size, Long userId);
+    PaginatedResponse<RoleDTO> filterRoles(String name, Long permissionId, LocalDateTime createdFrom, LocalDateTime createdTo, int page, int size, Long userId, String after, Boolean includeTotal);
 
 }
\ No newline at end of file
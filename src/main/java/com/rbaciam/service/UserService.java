@@ -4,6 +4,10 @@ import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.Optional;
 
+import com.rbaciam.dto.BulkRoleChangeRequestDTO;
+import com.rbaciam.dto.BulkRoleChangeResponseDTO;
+import com.rbaciam.dto.BulkUserCreateRequestDTO;
+import com.rbaciam.dto.BulkUserCreateResponseDTO;
 import com.rbaciam.dto.PaginatedResponse;
 import com.rbaciam.dto.UserCreateDTO;
 import com.rbaciam.dto.UserDTO;
@@ -13,6 +17,8 @@ public interface UserService {
 
 	Map<String, Object> createUser(UserCreateDTO userCreateDTO, Long userId);
 
+	BulkUserCreateResponseDTO bulkCreateUsers(BulkUserCreateRequestDTO request, Long userId);
+
 	Map<String, Object> verifyUserToken(String authToken);
 
 	Map<String, Object> assignPassword(String authToken, Long userId, String password);
@@ -26,10 +32,13 @@ public interface UserService {
 	PaginatedResponse<UserDTO> getAllUsers(int page, int size, Long userId, String search);
 
 	PaginatedResponse<UserDTO> filterUsers(Long companyId, String status, Long roleId, LocalDateTime createdFrom,
-			LocalDateTime createdTo, int page, int size, Long userId);
+			LocalDateTime createdTo, int page, int size, Long userId, String after, Boolean includeTotal);
 
 	UserDTO changeUserRole(Long userId, Long roleId, Long requesterId);
 
-	PaginatedResponse<UserDTO> getUsersByCompanyId(Long companyId, int page, int size, Long userId, String search);
+	BulkRoleChangeResponseDTO bulkChangeUserRole(BulkRoleChangeRequestDTO request, Long requesterId);
+
+	PaginatedResponse<UserDTO> getUsersByCompanyId(Long companyId, int page, int size, Long userId, String search,
+			String after, Boolean includeTotal);
 
 }
\ No newline at end of file
@@ -0,0 +1,213 @@
+package com.rbaciam.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rbaciam.entity.CompanyArchive;
+import com.rbaciam.entity.RoleArchive;
+import com.rbaciam.entity.UserArchive;
+import com.rbaciam.exception.BadRequestException;
+import com.rbaciam.exception.DuplicateException;
+import com.rbaciam.exception.InternalServerException;
+import com.rbaciam.exception.NotFoundException;
+import com.rbaciam.exception.UnauthorizedException;
+import com.rbaciam.repository.CompanyArchiveRepository;
+import com.rbaciam.repository.CompanyRepository;
+import com.rbaciam.repository.RoleArchiveRepository;
+import com.rbaciam.repository.RolePermissionArchiveRepository;
+import com.rbaciam.repository.RolePermissionRepository;
+import com.rbaciam.repository.RoleRepository;
+import com.rbaciam.repository.UserArchiveRepository;
+import com.rbaciam.repository.UserRepository;
+import com.rbaciam.security.AuthPrincipal;
+import com.rbaciam.security.AuthorizationSnapshotService;
+import com.rbaciam.security.PrincipalResolver;
+import com.rbaciam.service.ArchiveService;
+import com.rbaciam.utils.ChunkedJob;
+import com.rbaciam.utils.SoftDeleteUtil;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Moves rows soft-deleted longer than the retention period from users, roles and company
+ * into their archive tables, and puts single rows back on request. Each chunk is copied
+ * with one INSERT ... SELECT and removed with one DELETE in its own short transaction,
+ * with a pause between chunks so the job never holds locks for long. Users go first,
+ * since a role or company is only archived once no user references it.
+ */
+@Service
+@RequiredArgsConstructor
+public class ArchiveServiceImpl implements ArchiveService {
+	private final UserRepository userRepository;
+	private final RoleRepository roleRepository;
+	private final CompanyRepository companyRepository;
+	private final RolePermissionRepository rolePermissionRepository;
+	private final UserArchiveRepository userArchiveRepository;
+	private final RoleArchiveRepository roleArchiveRepository;
+	private final RolePermissionArchiveRepository rolePermissionArchiveRepository;
+	private final CompanyArchiveRepository companyArchiveRepository;
+	private final AuthorizationSnapshotService authorizationSnapshotService;
+	private final PrincipalResolver principalResolver;
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${app.archive.retention-days:90}")
+	private int retentionDays;
+
+	@Value("${app.archive.chunk-size:500}")
+	private int chunkSize;
+
+	@Value("${app.archive.chunk-pause:200ms}")
+	private Duration chunkPause;
+
+	@Value("${app.archive.max-chunks-per-run:200}")
+	private int maxChunksPerRun;
+
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	@Override
+	public int archiveDeleted() {
+		LocalDateTime cutoff = SoftDeleteUtil.archiveCutoff(retentionDays);
+		int moved = drain("users", page -> userRepository.findArchivableIds(cutoff, page), ids -> {
+			userArchiveRepository.copyFromUsers(ids, LocalDateTime.now());
+			return userRepository.purgeByIdIn(ids);
+		});
+		moved += drain("roles", page -> roleRepository.findArchivableIds(cutoff, page), ids -> {
+			rolePermissionArchiveRepository.copyFromRolePermissions(ids);
+			rolePermissionRepository.deleteByRoleIdIn(ids);
+			roleArchiveRepository.copyFromRoles(ids, LocalDateTime.now());
+			authorizationSnapshotService.rebuildAfterCommit();
+			return roleRepository.purgeByIdIn(ids);
+		});
+		moved += drain("company", page -> companyRepository.findArchivableIds(cutoff, page), ids -> {
+			companyArchiveRepository.copyFromCompanies(ids, LocalDateTime.now());
+			return companyRepository.purgeByIdIn(ids);
+		});
+		return moved;
+	}
+
+	/**
+	 * Archives one table chunk by chunk until nothing is left, the chunk budget is spent
+	 * or a chunk fails.
+	 */
+	private int drain(String table, Function<Pageable, List<Long>> findIds, Function<List<Long>, Integer> move) {
+		Pageable firstChunk = PageRequest.of(0, chunkSize);
+		AtomicInteger moved = new AtomicInteger();
+		ChunkedJob.run(maxChunksPerRun, chunkPause, () -> {
+			Integer count;
+			try {
+				count = transactionTemplate.execute(status -> {
+					List<Long> ids = findIds.apply(firstChunk);
+					return ids.isEmpty() ? 0 : move.apply(ids);
+				});
+			} catch (DataAccessException ex) {
+				logger.error("TRACE_LOG | Action=ARCHIVE_FAILED | Table={} | Error={}", table, ex.getMessage());
+				return false;
+			}
+			if (count == null || count == 0) {
+				return false;
+			}
+			moved.addAndGet(count);
+			return true;
+		});
+		if (moved.get() > 0) {
+			logger.info("TRACE_LOG | Action=ARCHIVE_DELETED | Table={} | Rows={}", table, moved.get());
+		}
+		return moved.get();
+	}
+
+	@Override
+	@Transactional
+	@CacheEvict(value = "companies", allEntries = true)
+	public void restoreUser(Long id, Long userId) {
+		requireSuperAdmin(userId);
+		UserArchive archived = userArchiveRepository.findById(id)
+				.orElseThrow(() -> new NotFoundException("Archived user not found: " + id));
+		if (roleRepository.findByIdAndDeletedAtIsNull(archived.getRoleId()).isEmpty()) {
+			throw new BadRequestException("Role " + archived.getRoleId() + " of the user is not active; restore it first");
+		}
+		if (companyRepository.findByIdAndDeletedAtIsNull(archived.getCompanyId()).isEmpty()) {
+			throw new BadRequestException(
+					"Company " + archived.getCompanyId() + " of the user is not active; restore it first");
+		}
+		if (userRepository.existsByEmail(archived.getEmail())) {
+			throw new DuplicateException("Email already exists: " + archived.getEmail());
+		}
+		try {
+			userArchiveRepository.copyToUsers(id);
+			userArchiveRepository.purgeById(id);
+			userRepository.undelete(id, userId, LocalDateTime.now());
+			authorizationSnapshotService.evictUser(id);
+			logger.info("TRACE_LOG | Action=RESTORE_USER | ID={} | UserId={}", id, userId);
+		} catch (DataAccessException ex) {
+			logger.error("SERVICE_LOG | Database error while restoring user: {}", ex.getMessage());
+			throw new InternalServerException("Failed to restore user due to database error");
+		}
+	}
+
+	@Override
+	@Transactional
+	@CacheEvict(value = "roles", allEntries = true)
+	public void restoreRole(Long id, Long userId) {
+		requireSuperAdmin(userId);
+		RoleArchive archived = roleArchiveRepository.findById(id)
+				.orElseThrow(() -> new NotFoundException("Archived role not found: " + id));
+		if (roleRepository.findByNameAndDeletedAtIsNull(archived.getName()).isPresent()) {
+			throw new DuplicateException("Role name already exists: " + archived.getName());
+		}
+		try {
+			roleArchiveRepository.copyToRoles(id);
+			rolePermissionArchiveRepository.copyToRolePermissions(id);
+			rolePermissionArchiveRepository.purgeByRoleId(id);
+			roleArchiveRepository.purgeById(id);
+			roleRepository.undelete(id, userId, LocalDateTime.now());
+			authorizationSnapshotService.rebuildAfterCommit();
+			logger.info("TRACE_LOG | Action=RESTORE_ROLE | ID={} | UserId={}", id, userId);
+		} catch (DataAccessException ex) {
+			logger.error("SERVICE_LOG | Database error while restoring role: {}", ex.getMessage());
+			throw new InternalServerException("Failed to restore role due to database error");
+		}
+	}
+
+	@Override
+	@Transactional
+	@CacheEvict(value = "companies", allEntries = true)
+	public void restoreCompany(Long id, Long userId) {
+		requireSuperAdmin(userId);
+		CompanyArchive archived = companyArchiveRepository.findById(id)
+				.orElseThrow(() -> new NotFoundException("Archived company not found: " + id));
+		if (companyRepository.findByDomainAndDeletedAtIsNull(archived.getDomain()).isPresent()) {
+			throw new DuplicateException("Company domain already exists: " + archived.getDomain());
+		}
+		try {
+			companyArchiveRepository.copyToCompanies(id);
+			companyArchiveRepository.purgeById(id);
+			companyRepository.undelete(id, userId, LocalDateTime.now());
+			logger.info("TRACE_LOG | Action=RESTORE_COMPANY | ID={} | UserId={}", id, userId);
+		} catch (DataAccessException ex) {
+			logger.error("SERVICE_LOG | Database error while restoring company: {}", ex.getMessage());
+			throw new InternalServerException("Failed to restore company due to database error");
+		}
+	}
+
+	private void requireSuperAdmin(Long userId) {
+		AuthPrincipal requester = principalResolver.resolve(userId)
+				.orElseThrow(() -> new NotFoundException("User not found: " + userId));
+		if (!requester.isSuperAdmin()) {
+			throw new UnauthorizedException("Only Super Admin can restore archived records");
+		}
+	}
+}
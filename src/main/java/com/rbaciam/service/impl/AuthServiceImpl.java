@@ -0,0 +1,131 @@
+package com.rbaciam.service.impl;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.rbaciam.dto.LoginResponseDTO;
+import com.rbaciam.entity.LoginRequest;
+import com.rbaciam.entity.User;
+import com.rbaciam.exception.AuthenticationExceptionFailed;
+import com.rbaciam.exception.InternalServerException;
+import com.rbaciam.repository.UserRepository;
+import com.rbaciam.security.AccessTokenService;
+import com.rbaciam.security.AuthPrincipal;
+import com.rbaciam.security.AuthorizationSnapshotService;
+import com.rbaciam.security.PasswordHasher;
+import com.rbaciam.security.PrincipalResolver;
+import com.rbaciam.service.AuthService;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class AuthServiceImpl implements AuthService {
+	private final UserRepository userRepository;
+	private final PasswordHasher passwordHasher;
+	private final PrincipalResolver principalResolver;
+	private final AccessTokenService accessTokenService;
+	private final AuthorizationSnapshotService authorizationSnapshotService;
+
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	@Override
+	public CompletableFuture<LoginResponseDTO> login(LoginRequest request) {
+		User user;
+		try {
+			user = userRepository.findByEmailAndDeletedAtIsNull(request.getEmail()).orElse(null);
+		} catch (DataAccessException ex) {
+			logger.error("SERVICE_LOG | Database error during login: {}", ex.getMessage());
+			throw new InternalServerException("Database error during login");
+		}
+
+		// Everything the response needs is read here, on the request thread
+		LoginResponseDTO response = user == null ? null : toResponse(user);
+		boolean loginAllowed = isLoginAllowed(user);
+		Long userId = user == null ? null : user.getId();
+		AuthPrincipal principal = loginAllowed ? resolvePrincipal(userId) : null;
+
+		return passwordHasher.matchesAsync(request.getPassword(), user == null ? null : user.getPassword())
+				.thenApply(matches -> {
+					if (!matches) {
+						logger.warn("TRACE_LOG | Action=LOGIN | Success=false | UserId={}", userId);
+						throw new AuthenticationExceptionFailed("Invalid email or password");
+					}
+					if (!loginAllowed || principal == null) {
+						logger.warn("TRACE_LOG | Action=LOGIN | Success=false | Reason=inactive | UserId={}", userId);
+						throw new AuthenticationExceptionFailed("User account is not active");
+					}
+					logger.info("TRACE_LOG | Action=LOGIN | Success=true | UserId={}", userId);
+					return withTokens(response, principal);
+				});
+	}
+
+	@Override
+	public LoginResponseDTO refresh(String refreshToken) {
+		Long userId = accessTokenService.verifyRefresh(refreshToken)
+				.orElseThrow(() -> new AuthenticationExceptionFailed("Invalid or expired refresh token"));
+		User user;
+		try {
+			user = userRepository.findByIdAndDeletedAtIsNull(userId).orElse(null);
+		} catch (DataAccessException ex) {
+			logger.error("SERVICE_LOG | Database error during token refresh: {}", ex.getMessage());
+			throw new InternalServerException("Database error during token refresh");
+		}
+		if (!isLoginAllowed(user)) {
+			logger.warn("TRACE_LOG | Action=TOKEN_REFRESH | Success=false | UserId={}", userId);
+			throw new AuthenticationExceptionFailed("User account is not active");
+		}
+
+		// Re-read the grant so the new access token reflects any role or company change
+		authorizationSnapshotService.evictUser(userId);
+		AuthPrincipal principal = resolvePrincipal(userId);
+		if (principal == null) {
+			throw new AuthenticationExceptionFailed("User account is not active");
+		}
+		logger.info("TRACE_LOG | Action=TOKEN_REFRESH | Success=true | UserId={}", userId);
+		return withTokens(toResponse(user), principal);
+	}
+
+	private static boolean isLoginAllowed(User user) {
+		return user != null && user.getStatus() == User.Status.ACTIVE && user.getCompany() != null
+				&& user.getCompany().getDeletedAt() == null;
+	}
+
+	private AuthPrincipal resolvePrincipal(Long userId) {
+		try {
+			return principalResolver.resolve(userId).orElse(null);
+		} catch (DataAccessException ex) {
+			logger.error("SERVICE_LOG | Database error resolving userId={}: {}", userId, ex.getMessage());
+			throw new InternalServerException("Database error during login");
+		}
+	}
+
+	private LoginResponseDTO withTokens(LoginResponseDTO response, AuthPrincipal principal) {
+		AccessTokenService.TokenPair tokens = accessTokenService.issue(principal);
+		response.setAccessToken(tokens.getAccessToken());
+		response.setRefreshToken(tokens.getRefreshToken());
+		response.setTokenType("Bearer");
+		response.setExpiresIn(tokens.getExpiresIn());
+		return response;
+	}
+
+	private LoginResponseDTO toResponse(User user) {
+		LoginResponseDTO dto = new LoginResponseDTO();
+		dto.setUserId(user.getId());
+		dto.setName(user.getName());
+		dto.setEmail(user.getEmail());
+		if (user.getRole() != null) {
+			dto.setRoleId(user.getRole().getId());
+			dto.setRoleName(user.getRole().getName());
+		}
+		if (user.getCompany() != null) {
+			dto.setCompanyId(user.getCompany().getId());
+			dto.setCompanyName(user.getCompany().getName());
+		}
+		return dto;
+	}
+}
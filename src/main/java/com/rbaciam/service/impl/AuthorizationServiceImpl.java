@@ -0,0 +1,87 @@
+package com.rbaciam.service.impl;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.rbaciam.dto.AuthzBatchCheckRequestDTO;
+import com.rbaciam.dto.AuthzBatchCheckResponseDTO;
+import com.rbaciam.dto.AuthzCheckDTO;
+import com.rbaciam.exception.BadRequestException;
+import com.rbaciam.exception.InternalServerException;
+import com.rbaciam.exception.NotFoundException;
+import com.rbaciam.exception.UnauthorizedException;
+import com.rbaciam.security.AccessPolicy;
+import com.rbaciam.security.AuthPrincipal;
+import com.rbaciam.security.AuthorizationSnapshot;
+import com.rbaciam.security.AuthorizationSnapshotService;
+import com.rbaciam.security.PrincipalResolver;
+import com.rbaciam.security.UserGrant;
+import com.rbaciam.service.AuthorizationService;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class AuthorizationServiceImpl implements AuthorizationService {
+	private final AuthorizationSnapshotService authorizationSnapshotService;
+	private final PrincipalResolver principalResolver;
+
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	@Override
+	public AuthzBatchCheckResponseDTO checkBatch(AuthzBatchCheckRequestDTO request, Long userId) {
+		try {
+			if (request == null || request.getChecks() == null || request.getChecks().isEmpty()) {
+				throw new BadRequestException("At least one check is required");
+			}
+
+			AuthPrincipal requester = principalResolver.resolve(userId)
+					.orElseThrow(() -> new NotFoundException("User not found or inactive"));
+			if (!requester.isSuperAdmin() && !requester.isAdmin()) {
+				throw new UnauthorizedException("User lacks permission to check authorizations");
+			}
+
+			AuthorizationSnapshot snapshot = authorizationSnapshotService.snapshot();
+
+			List<AuthzCheckDTO> checks = request.getChecks();
+			Set<Long> userIds = new LinkedHashSet<>();
+			for (AuthzCheckDTO check : checks) {
+				userIds.add(check.getUserId());
+			}
+			Map<Long, UserGrant> grants = authorizationSnapshotService.findUsers(userIds);
+
+			// Same scoping as the single check: an admin only sees users of their own company,
+			// and checks on anyone else answer false rather than revealing their grants.
+			boolean[] results = new boolean[checks.size()];
+			int outOfScope = 0;
+			for (int i = 0; i < results.length; i++) {
+				AuthzCheckDTO check = checks.get(i);
+				UserGrant grant = grants.get(check.getUserId());
+				if (grant == null) {
+					continue;
+				}
+				if (!requester.canView(grant.getCompanyId())) {
+					outOfScope++;
+					continue;
+				}
+				results[i] = AccessPolicy.hasPermissionInCompany(snapshot, snapshot.grantsOf(grant.getRoleId()),
+						grant.getCompanyId(), check.getPermission(), check.getCompanyId());
+			}
+
+			logger.info("TRACE_LOG | Action=CHECK_PERMISSION_BATCH | Checks={} | DistinctUsers={} | OutOfScope={} "
+					+ "| UserId={}", results.length, userIds.size(), outOfScope, userId);
+			return new AuthzBatchCheckResponseDTO(results);
+
+		} catch (DataAccessException ex) {
+			logger.error("SERVICE_LOG | Database error while checking permissions: {}", ex.getMessage());
+			throw new InternalServerException("Failed to check permissions due to database error");
+		}
+	}
+}
@@ -7,7 +7,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -22,6 +21,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,10 +31,7 @@ import com.rbaciam.dto.GetAllComapanyDTO;
 import com.rbaciam.dto.PaginatedResponse;
 import com.rbaciam.dto.UpdateCompanyDto;
 import com.rbaciam.entity.Company;
-import com.rbaciam.entity.Permission;
-import com.rbaciam.entity.Role;
-import com.rbaciam.entity.RolePermission;
-import com.rbaciam.entity.User;
+import com.rbaciam.entity.TokenRevocation;
 import com.rbaciam.exception.AuthenticationExceptionFailed;
 import com.rbaciam.exception.BadRequestException;
 import com.rbaciam.exception.DuplicateException;
@@ -42,9 +39,17 @@ import com.rbaciam.exception.InternalServerException;
 import com.rbaciam.exception.NotFoundException;
 import com.rbaciam.exception.UnauthorizedException;
 import com.rbaciam.repository.CompanyRepository;
+import com.rbaciam.repository.EmailOutboxRepository;
 import com.rbaciam.repository.UserRepository;
+import com.rbaciam.repository.ValidationTokenRepository;
+import com.rbaciam.security.AccessPolicy;
+import com.rbaciam.security.AuthPrincipal;
+import com.rbaciam.security.AuthorizationSnapshotService;
+import com.rbaciam.security.PrincipalResolver;
+import com.rbaciam.security.TokenRevocationService;
 import com.rbaciam.service.CompanyService;
 import com.rbaciam.service.PermissionService;
+import com.rbaciam.utils.PageCursor;
 
 import lombok.RequiredArgsConstructor;
 
@@ -54,11 +59,17 @@ public class CompanyServiceImpl implements CompanyService {
 	private final CompanyRepository companyRepository;
 	private final PermissionService permissionService;
 	private final UserRepository userRepository;
+	private final AuthorizationSnapshotService authorizationSnapshotService;
+	private final PrincipalResolver principalResolver;
+	private final EmailOutboxRepository emailOutboxRepository;
+	private final ValidationTokenRepository validationTokenRepository;
+	private final TokenRevocationService tokenRevocationService;
 
 	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
 
 	@Override
 	@Transactional
+	@CacheEvict(value = "companies", allEntries = true)
 	public Map<String, Object> createCompany(CompanyDTO companyDTO, Long userId)
 			throws AuthenticationExceptionFailed, BadRequestException, DuplicateException, UnauthorizedException {
 		try {
@@ -120,7 +131,7 @@ public class CompanyServiceImpl implements CompanyService {
 
 	@Override
 	@Transactional
-	@CacheEvict(value = "companies", key = "#id")
+	@CacheEvict(value = "companies", allEntries = true)
 	public Map<String, Object> updateCompany(Long id, UpdateCompanyDto updatedCompanyDTO, Long userId)
 			throws AuthenticationExceptionFailed, BadRequestException, NotFoundException, UnauthorizedException {
 		try {
@@ -134,10 +145,10 @@ public class CompanyServiceImpl implements CompanyService {
 			Company company = companyRepository.findByIdAndDeletedAtIsNull(id)
 					.orElseThrow(() -> new NotFoundException("Company not found: " + id));
 
-			User user = userRepository.findByIdAndDeletedAtIsNull(userId)
+			AuthPrincipal user = principalResolver.resolve(userId)
 					.orElseThrow(() -> new NotFoundException("User not found: " + userId));
 
-			if (!hasUpdatePermission(user, company)) {
+			if (!user.canManage(company.getId())) {
 				throw new UnauthorizedException("You don't have permission to update this company");
 			}
 
@@ -198,26 +209,9 @@ public class CompanyServiceImpl implements CompanyService {
 				.industry(company.getIndustry()).homepage(company.getHomepage()).build();
 	}
 
-	private boolean hasUpdatePermission(User user, Company company) {
-		if (user == null || user.getRole() == null)
-			return false;
-
-		Set<String> permissions = Optional.ofNullable(user.getRole()).map(Role::getRolePermissions)
-				.orElse(Collections.emptySet()).stream().filter(Objects::nonNull).map(RolePermission::getPermission)
-				.filter(Objects::nonNull).map(Permission::getName).filter(Objects::nonNull).collect(Collectors.toSet());
-
-		boolean isSuperAdmin = permissions.contains("super_admin_access");
-		boolean isAdmin = permissions.contains("admin_access");
-
-		if (isSuperAdmin) {
-			return true;
-		}
-		return isAdmin && user.getCompany() != null && user.getCompany().getId().equals(company.getId());
-	}
-
 	@Override
 	@Transactional
-	@CacheEvict(value = "companies", key = "#id")
+	@CacheEvict(value = "companies", allEntries = true)
 	public void deleteCompany(Long id, Long userId)
 			throws AuthenticationExceptionFailed, BadRequestException, NotFoundException, UnauthorizedException {
 		try {
@@ -234,27 +228,44 @@ public class CompanyServiceImpl implements CompanyService {
 				throw new UnauthorizedException("You don't have permission to delete this company");
 			}
 
-			company.setDeletedAt(LocalDateTime.now());
+			AuthPrincipal requester = principalResolver.resolve(userId)
+					.orElseThrow(() -> new NotFoundException("User not found: " + userId));
+			if (id.equals(requester.getCompanyId())) {
+				throw new BadRequestException("You cannot delete your own company");
+			}
+
+			// Cascade to the company's users, their validation tokens and queued emails with
+			// set-based updates
+			LocalDateTime now = LocalDateTime.now();
+			int cancelledEmails = emailOutboxRepository.cancelPendingForCompany(id);
+			int deletedTokens = validationTokenRepository.deleteByCompanyId(id);
+			int deletedUsers = userRepository.softDeleteByCompanyId(id, userId, now);
+
+			company.setDeletedAt(now);
 			company.setDeletedBy(userId);
-			logger.info("TRACE_LOG | Action=DELETE_COMPANY | ID={} | UserId={}", id, userId);
+			logger.info("TRACE_LOG | Action=DELETE_COMPANY | ID={} | DeletedUsers={} | DeletedTokens={} "
+					+ "| CancelledEmails={} | UserId={}", id, deletedUsers, deletedTokens, cancelledEmails, userId);
 			companyRepository.save(company);
+			authorizationSnapshotService.evictAllUsers();
+			tokenRevocationService.revoke(TokenRevocation.SubjectType.COMPANY, id, userId);
 		} catch (DataAccessException ex) {
 			throw new InternalServerException("Failed to delete company due to database error");
 		}
 	}
 
 	@Override
-	@Cacheable(value = "companies", key = "{#userId, #page, #size, #isSuperAdmin}")
+	@Cacheable(value = "companies", key = "{'byUser', @authScope.of(#userId), #page, #size}",
+			condition = "@authScope.of(#userId) != 'NONE'")
 	public PaginatedResponse<GetAllComapanyDTO> getCompaniesByUserId(Long userId, int page, int size) {
 		try {
 			if (userId == null || userId <= 0) {
 				throw new BadRequestException("Invalid userId: " + userId);
 			}
 
-			User user = userRepository.findByIdAndDeletedAtIsNull(userId)
+			AuthPrincipal user = principalResolver.resolve(userId)
 					.orElseThrow(() -> new NotFoundException("User not found: " + userId));
 
-			boolean isSuperAdmin = permissionService.hasPermission(userId, "super_admin_access");
+			boolean isSuperAdmin = user.isSuperAdmin();
 			Pageable pageable = PageRequest.of(page, size);
 
 			Page<Company> companyPage;
@@ -263,16 +274,15 @@ public class CompanyServiceImpl implements CompanyService {
 				companyPage = companyRepository.findAllByDeletedAtIsNull(pageable);
 			} else {
 
-				Company company = user.getCompany();
-				if (company == null || company.getDeletedAt() != null) {
-					throw new NotFoundException("Company not found for user: " + userId);
-				}
+				Company company = companyRepository.findByIdAndDeletedAtIsNull(user.getCompanyId())
+						.orElseThrow(() -> new NotFoundException("Company not found for user: " + userId));
 				companyPage = new PageImpl<>(Collections.singletonList(company), pageable, 1);
 			}
 
 			logger.info("TRACE_LOG | Action=GET_COMPANIES | UserId={} | IsSuperAdmin={} | Page={} | Size={}", userId,
 					isSuperAdmin, page, size);
 
+			Map<Long, Integer> userCounts = activeUserCounts(companyPage.getContent());
 			List<GetAllComapanyDTO> dtos = companyPage.getContent().stream().map(company -> {
 				GetAllComapanyDTO dto = new GetAllComapanyDTO();
 				dto.setId(company.getId());
@@ -285,7 +295,7 @@ public class CompanyServiceImpl implements CompanyService {
 				dto.setIndustry(company.getIndustry());
 				dto.setHomepage(company.getHomepage());
 				dto.setCreated_On(company.getCreatedAt());
-				dto.setUserCount((int) company.getUsers().stream().filter(User -> user.getDeletedAt() == null).count());
+				dto.setUserCount(userCounts.getOrDefault(company.getId(), 0));
 				return dto;
 			}).collect(Collectors.toList());
 
@@ -299,7 +309,8 @@ public class CompanyServiceImpl implements CompanyService {
 	}
 
 	@Override
-	@Cacheable(value = "companies", key = "#id")
+	@Cacheable(value = "companies", key = "{'company', #id, @authScope.of(#userId)}",
+			condition = "@authScope.of(#userId) != 'NONE'")
 	public Optional<GetAllComapanyDTO> getCompanyById(Long id, Long userId)
 			throws BadRequestException, NotFoundException, UnauthorizedException {
 		try {
@@ -311,10 +322,10 @@ public class CompanyServiceImpl implements CompanyService {
 			Company company = companyRepository.findByIdAndDeletedAtIsNull(id)
 					.orElseThrow(() -> new NotFoundException("Company not found: " + id));
 
-			User user = userRepository.findByIdAndDeletedAtIsNull(userId)
+			AuthPrincipal user = principalResolver.resolve(userId)
 					.orElseThrow(() -> new NotFoundException("User not found: " + userId));
 
-			if (!hasViewPermission(user, company)) {
+			if (!user.canView(company.getId())) {
 				throw new UnauthorizedException("You don't have permission to view this company");
 			}
 
@@ -332,7 +343,7 @@ public class CompanyServiceImpl implements CompanyService {
 			dto.setIndustry(company.getIndustry());
 			dto.setHomepage(company.getHomepage());
 			dto.setCreated_On(company.getCreatedAt());
-			dto.setUserCount((int) company.getUsers().stream().filter(u -> u.getDeletedAt() == null).count());
+			dto.setUserCount(activeUserCounts(List.of(company)).getOrDefault(company.getId(), 0));
 
 			return Optional.of(dto);
 
@@ -342,31 +353,7 @@ public class CompanyServiceImpl implements CompanyService {
 		}
 	}
 
-	private boolean hasViewPermission(User user, Company requestedCompany) {
-		if (user == null || user.getRole() == null) {
-			return false;
-		}
-
-		Set<String> permissions = ((Role) user.getRole()).getRolePermissions().stream().filter(Objects::nonNull)
-				.map(RolePermission::getPermission).filter(Objects::nonNull).map(Permission::getName)
-				.collect(Collectors.toSet());
-
-		if (permissions.contains("super_admin_access")) {
-			return true;
-		}
-
-		if (permissions.contains("admin_access")) {
-			return user.getCompany() != null && user.getCompany().getId().equals(requestedCompany.getId());
-		}
-
-		if (permissions.contains("user_access")) {
-			return user.getCompany() != null && user.getCompany().getId().equals(requestedCompany.getId());
-		}
-
-		return false;
-	}
-
-	private GetAllComapanyDTO mapToDTOAllCompany(Company company) {
+	private GetAllComapanyDTO mapToDTOAllCompany(CompanyRepository.CompanyListingView company) {
 		GetAllComapanyDTO dto = new GetAllComapanyDTO();
 		dto.setId(company.getId());
 		dto.setName(company.getName());
@@ -378,26 +365,15 @@ public class CompanyServiceImpl implements CompanyService {
 		dto.setIndustry(company.getIndustry());
 		dto.setHomepage(company.getHomepage());
 		dto.setCreated_On(company.getCreatedAt());
-		long userCount = company.getUsers().stream()
-				.filter(user -> user.getDeletedAt() == null && !hasSuperAdminAccess(user)).count();
-		dto.setUserCount((int) userCount);
+		dto.setUserCount(company.getUserCount() == null ? 0 : company.getUserCount().intValue());
 		return dto;
 	}
 
-	private boolean hasSuperAdminAccess(User user) {
-		if (user == null || user.getRole() == null) {
-			return false;
-		}
-
-		return ((Role) user.getRole()).getRolePermissions().stream().filter(Objects::nonNull)
-				.map(RolePermission::getPermission).filter(Objects::nonNull).map(Permission::getName)
-				.anyMatch("super_admin_access"::equals);
-	}
-
 	@Override
+	@Transactional(readOnly = true)
 	public PaginatedResponse<CompanyDTO> filterCompanies(String country, String industry,
 	        LocalDateTime createdFrom, LocalDateTime createdTo,
-	        int page, int size, Long userId) {
+	        int page, int size, Long userId, String after, Boolean includeTotal) {
 
 	    String requestId = UUID.randomUUID().toString();
 	    MDC.put("requestId", requestId);
@@ -412,22 +388,32 @@ public class CompanyServiceImpl implements CompanyService {
 	       
 	        page = Math.max(page, 0);
 	        size = size <= 0 ? 10 : Math.min(size, 100);
-	        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+	        PageCursor cursor = PageCursor.decode(after);
+	        if (cursor != null) {
+	            page = 0;
+	        }
+	        Pageable pageable = PageRequest.of(page, size, PageCursor.SORT);
 
 	       
 	        String normalizedCountry = StringUtils.isBlank(country) ? null : country.trim().toLowerCase();
 	        String normalizedIndustry = StringUtils.isBlank(industry) ? null : industry.trim().toLowerCase();
 
-	        Page<Company> companyPage = companyRepository.findByFilters(
-	                normalizedCountry, normalizedIndustry, createdFrom, createdTo, pageable);
+	        Slice<Company> companySlice = companyRepository.findByFiltersAfter(
+	                normalizedCountry, normalizedIndustry, createdFrom, createdTo,
+	                PageCursor.createdAtOf(cursor), PageCursor.idOf(cursor), pageable);
+	        int total = (includeTotal != null ? includeTotal : cursor == null)
+	                ? (int) companyRepository.countByFilters(normalizedCountry, normalizedIndustry, createdFrom, createdTo)
+	                : -1;
 
-	        List<CompanyDTO> dtos = companyPage.getContent().stream()
-	                .map(this::mapToDTOFilter)
+	        Map<Long, Integer> userCounts = activeUserCounts(companySlice.getContent());
+	        List<CompanyDTO> dtos = companySlice.getContent().stream()
+	                .map(company -> mapToDTOFilter(company, userCounts))
 	                .filter(Objects::nonNull)
 	                .collect(Collectors.toList());
 
-	        return new PaginatedResponse<>(dtos, companyPage.getNumber(), companyPage.getSize(),
-	                (int) companyPage.getTotalElements(), companyPage.getTotalPages());
+	        return new PaginatedResponse<>(dtos, page, size, total,
+	                total < 0 ? -1 : (int) Math.ceil((double) total / size),
+	                PageCursor.next(companySlice, Company::getCreatedAt, Company::getId));
 
 	    } catch (UnauthorizedException | BadRequestException ex) {
 	        throw ex;
@@ -441,7 +427,7 @@ public class CompanyServiceImpl implements CompanyService {
 
 
 
-	private CompanyDTO mapToDTOFilter(Company company) {
+	private CompanyDTO mapToDTOFilter(Company company, Map<Long, Integer> userCounts) {
 
 		CompanyDTO dto = new CompanyDTO();
 		dto.setName(company.getName());
@@ -453,10 +439,26 @@ public class CompanyServiceImpl implements CompanyService {
 		dto.setTimezone(company.getTimezone());
 		dto.setIndustry(company.getIndustry());
 		dto.setHomepage(company.getHomepage());
-		dto.setUserCount((int) company.getUsers().stream().filter(u -> u.getDeletedAt() == null).count());
+		dto.setUserCount(userCounts.getOrDefault(company.getId(), 0));
 		return dto;
 	}
 
+	/**
+	 * Counts the active users of the given companies with one grouped query instead of
+	 * initializing each company's users collection.
+	 */
+	private Map<Long, Integer> activeUserCounts(List<Company> companies) {
+		if (companies.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		List<Long> companyIds = companies.stream().map(Company::getId).collect(Collectors.toList());
+		Map<Long, Integer> counts = new HashMap<>();
+		for (CompanyRepository.UserCountView view : companyRepository.countActiveUsersByCompanyIdIn(companyIds)) {
+			counts.put(view.getCompanyId(), view.getUserCount().intValue());
+		}
+		return counts;
+	}
+
 	private void validateCompanyDTO(CompanyDTO companyDTO) {
 		if (companyDTO == null) {
 			throw new BadRequestException("Company DTO cannot be null");
@@ -497,6 +499,7 @@ public class CompanyServiceImpl implements CompanyService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public PaginatedResponse<GetAllComapanyDTO> getAllCompaniesSearch(int page, int size, Long userId, String search) {
 
 		try {
@@ -506,75 +509,48 @@ public class CompanyServiceImpl implements CompanyService {
 				throw new BadRequestException("Invalid pagination parameters");
 			}
 
-			User actingUser = userRepository.findByIdAndDeletedAtIsNull(userId)
+			AuthPrincipal actingUser = principalResolver.resolve(userId)
 					.orElseThrow(() -> new NotFoundException("User not found with ID: " + userId));
 
-			List<Company> filteredCompanies;
-
 			// Get role name
-			String roleName = actingUser.getRole() != null ? actingUser.getRole().getName() : null;
+			String roleName = actingUser.getRoleName();
 			logger.debug("Acting user {} has role: {}", userId, roleName);
 
 			// Check if user has SUPER_ADMIN, ADMIN, or HTI_ACCESS role
 			boolean hasFullAccess = roleName != null &&	(roleName.equals("SUPER_ADMIN") || roleName.equals("HTI_ACCESS"));
 
+			Long companyId = null;
 			if (hasFullAccess) {
 				// SUPER_ADMIN, ADMIN, or HTI_ACCESS can see all companies
 				logger.info("User {} has {} access. Fetching all companies.", userId, roleName);
-
-				filteredCompanies = companyRepository.findAllByDeletedAtIsNull(Sort.by("name").ascending()).stream()
-						.filter(company -> {
-							List<User> activeUsers = company.getUsers().stream()
-									.filter(user -> user.getDeletedAt() == null)
-									.collect(Collectors.toList());
-
-							boolean hasNonSuperAdmin = activeUsers.stream()
-									.anyMatch(user -> !hasSuperAdminAccess(user));
-
-							return hasNonSuperAdmin || activeUsers.isEmpty();
-						}).collect(Collectors.toList());
-
 			} else {
 				// Other roles: only see their own company
-				Company userCompany = actingUser.getCompany();
-				if (userCompany == null || userCompany.getDeletedAt() != null) {
+				companyId = actingUser.getCompanyId();
+				if (companyId == null || !actingUser.isCompanyActive()) {
 					throw new NotFoundException("User has no valid company.");
 				}
 
-				if (!hasViewPermission(actingUser, userCompany)) {
+				if (!actingUser.canView(companyId)) {
 					throw new UnauthorizedException("You don't have permission to view this company.");
 				}
 
-				logger.debug("User {} is allowed to view only their own company {}", userId, userCompany.getId());
-				filteredCompanies = List.of(userCompany);
-			}
-
-			// Apply search filter
-			if (search != null && !search.isBlank()) {
-				String lowerSearch = search.toLowerCase();
-				filteredCompanies = filteredCompanies.stream()
-						.filter(company -> (company.getName() != null && company.getName().toLowerCase().contains(lowerSearch))
-								|| (company.getDomain() != null && company.getDomain().toLowerCase().contains(lowerSearch)))
-						.collect(Collectors.toList());
-
-				logger.debug("Filtered companies count after search='{}': {}", search, filteredCompanies.size());
+				logger.debug("User {} is allowed to view only their own company {}", userId, companyId);
 			}
 
-			// Pagination
-			int total = filteredCompanies.size();
-			int start = Math.min(page * size, total);
-			int end = Math.min(start + size, total);
+			// Search, user counts and paging run in one grouped query
+			String searchTerm = (search == null || search.isBlank()) ? null : search.trim();
+			Page<CompanyRepository.CompanyListingView> companyPage = companyRepository.findCompanyListing(companyId,
+					searchTerm, hasFullAccess, PageRequest.of(page, size));
 
-			List<GetAllComapanyDTO> dtoPage = total > 0
-					? filteredCompanies.subList(start, end).stream()
+			List<GetAllComapanyDTO> dtoPage = companyPage.getContent().stream()
 					.map(this::mapToDTOAllCompany)
-					.collect(Collectors.toList())
-					: Collections.emptyList();
+					.collect(Collectors.toList());
+			int total = (int) companyPage.getTotalElements();
 
 			logger.info("Returning {} companies for page={} size={}, total matches={}",
 					dtoPage.size(), page, size, total);
 
-			return new PaginatedResponse<>(dtoPage, page, size, total, (int) Math.ceil((double) total / size));
+			return new PaginatedResponse<>(dtoPage, page, size, total, companyPage.getTotalPages());
 
 		} catch (UnauthorizedException | NotFoundException | BadRequestException ex) {
 			throw ex;
@@ -0,0 +1,128 @@
+package com.rbaciam.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.rbaciam.entity.EmailOutbox;
+import com.rbaciam.repository.EmailOutboxRepository;
+
+/**
+ * Drains the email outbox. Every poll returns expired leases to the queue, claims due
+ * messages one conditional update at a time and hands them to the bounded mail worker
+ * pool. A failed send is retried with exponential backoff until the attempt limit, then
+ * the message is parked as FAILED. Finished messages no longer keep their link, which
+ * for validation emails carries the plaintext token.
+ */
+@Component
+public class EmailOutboxDispatcher {
+	private final EmailOutboxRepository emailOutboxRepository;
+	private final EmailService emailService;
+	private final TaskExecutor mailExecutor;
+	private final int batchSize;
+	private final int maxAttempts;
+	private final Duration initialBackoff;
+	private final Duration maxBackoff;
+	private final Duration lease;
+
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository, EmailService emailService,
+			@Qualifier("mailExecutor") TaskExecutor mailExecutor,
+			@Value("${app.mail.outbox.batch-size:50}") int batchSize,
+			@Value("${app.mail.outbox.max-attempts:8}") int maxAttempts,
+			@Value("${app.mail.outbox.initial-backoff:30s}") Duration initialBackoff,
+			@Value("${app.mail.outbox.max-backoff:1h}") Duration maxBackoff,
+			@Value("${app.mail.outbox.lease:5m}") Duration lease) {
+		this.emailOutboxRepository = emailOutboxRepository;
+		this.emailService = emailService;
+		this.mailExecutor = mailExecutor;
+		this.batchSize = batchSize;
+		this.maxAttempts = maxAttempts;
+		this.initialBackoff = initialBackoff;
+		this.maxBackoff = maxBackoff;
+		this.lease = lease;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void clearFinishedLinks() {
+		try {
+			int cleared = emailOutboxRepository.clearFinishedLinks();
+			if (cleared > 0) {
+				logger.info("TRACE_LOG | Action=OUTBOX_CLEAR_LINKS | Count={}", cleared);
+			}
+		} catch (DataAccessException ex) {
+			logger.error("SERVICE_LOG | Could not clear links of finished outbox messages: {}", ex.getMessage());
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:5000}")
+	public void dispatch() {
+		try {
+			LocalDateTime now = LocalDateTime.now();
+			int released = emailOutboxRepository.releaseExpiredLeases(now);
+			if (released > 0) {
+				logger.warn("TRACE_LOG | Action=OUTBOX_RELEASE_LEASES | Count={}", released);
+			}
+
+			List<Long> due = emailOutboxRepository.findDueIds(now, PageRequest.of(0, batchSize));
+			for (Long id : due) {
+				if (emailOutboxRepository.claim(id, now.plus(lease)) == 0) {
+					continue;
+				}
+				try {
+					mailExecutor.execute(() -> deliver(id));
+				} catch (TaskRejectedException ex) {
+					emailOutboxRepository.release(id);
+					logger.warn("TRACE_LOG | Action=OUTBOX_POOL_FULL | Id={}", id);
+					return;
+				}
+			}
+		} catch (DataAccessException ex) {
+			logger.error("SERVICE_LOG | Email outbox poll failed: {}", ex.getMessage());
+		}
+	}
+
+	private void deliver(Long id) {
+		EmailOutbox message = emailOutboxRepository.findById(id).orElse(null);
+		if (message == null || message.getStatus() != EmailOutbox.Status.SENDING) {
+			return;
+		}
+		try {
+			switch (message.getType()) {
+			case USER_VALIDATION -> emailService.sendUserValidationLink(message.getRecipient(),
+					message.getRecipientName(), message.getLink());
+			case WELCOME -> emailService.sendWelcomeEmail(message.getRecipient(), message.getRecipientName());
+			}
+			emailOutboxRepository.markSent(id, LocalDateTime.now());
+			logger.info("TRACE_LOG | Action=OUTBOX_SENT | Id={} | Type={}", id, message.getType());
+		} catch (RuntimeException ex) {
+			int attempt = message.getAttempts() + 1;
+			boolean exhausted = attempt >= maxAttempts;
+			LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff(attempt));
+			String error = ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage();
+			emailOutboxRepository.markFailedAttempt(id, exhausted ? EmailOutbox.Status.FAILED : EmailOutbox.Status.PENDING,
+					nextAttemptAt, error.length() > 1000 ? error.substring(0, 1000) : error);
+			logger.error("TRACE_LOG | Action=OUTBOX_SEND_FAILED | Id={} | Attempt={} | GiveUp={} | Error={}", id, attempt,
+					exhausted, error);
+		}
+	}
+
+	private Duration backoff(int attempt) {
+		Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+		return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+	}
+}
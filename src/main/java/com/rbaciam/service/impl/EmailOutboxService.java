@@ -0,0 +1,73 @@
+package com.rbaciam.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.rbaciam.entity.EmailOutbox;
+import com.rbaciam.entity.User;
+import com.rbaciam.repository.BatchInsertRepository;
+import com.rbaciam.repository.EmailOutboxRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Queues onboarding emails in the outbox table. Callers run inside the transaction that
+ * changes the user, so the email is queued if and only if that change commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailOutboxService {
+	private final EmailOutboxRepository emailOutboxRepository;
+	private final BatchInsertRepository batchInsertRepository;
+
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void enqueueValidationLink(User user, String validationUrl) {
+		enqueue(EmailOutbox.Type.USER_VALIDATION, user, validationUrl);
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void enqueueWelcome(User user) {
+		enqueue(EmailOutbox.Type.WELCOME, user, null);
+	}
+
+	/**
+	 * Queues one validation email per user with batched inserts; the users must already
+	 * have their ids.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void enqueueValidationLinks(List<User> users, Function<User, String> validationUrl) {
+		LocalDateTime now = LocalDateTime.now();
+		batchInsertRepository.insertOutbox(users.stream()
+				.map(user -> message(EmailOutbox.Type.USER_VALIDATION, user, validationUrl.apply(user), now))
+				.toList());
+		logger.info("TRACE_LOG | Action=ENQUEUE_EMAIL | Type={} | Count={}", EmailOutbox.Type.USER_VALIDATION,
+				users.size());
+	}
+
+	private void enqueue(EmailOutbox.Type type, User user, String link) {
+		emailOutboxRepository.save(message(type, user, link, LocalDateTime.now()));
+		logger.info("TRACE_LOG | Action=ENQUEUE_EMAIL | Type={} | UserId={}", type, user.getId());
+	}
+
+	private EmailOutbox message(EmailOutbox.Type type, User user, String link, LocalDateTime now) {
+		EmailOutbox message = new EmailOutbox();
+		message.setType(type);
+		message.setUserId(user.getId());
+		message.setRecipient(user.getEmail());
+		message.setRecipientName(user.getName());
+		message.setLink(link);
+		message.setStatus(EmailOutbox.Status.PENDING);
+		message.setNextAttemptAt(now);
+		message.setCreatedAt(now);
+		return message;
+	}
+}
@@ -0,0 +1,25 @@
+package com.rbaciam.service.impl;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.rbaciam.service.InvitationExpiryService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Runs invitation expiry on a schedule, by default hourly. Disable with
+ * {@code app.invitation-expiry.enabled=false}.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.invitation-expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class InvitationExpiryJob {
+	private final InvitationExpiryService invitationExpiryService;
+
+	@Scheduled(cron = "${app.invitation-expiry.cron:0 45 * * * *}")
+	public void expire() {
+		invitationExpiryService.expireStaleInvitations();
+	}
+}
@@ -0,0 +1,139 @@
+package com.rbaciam.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rbaciam.entity.EmailOutbox;
+import com.rbaciam.repository.EmailOutboxRepository;
+import com.rbaciam.repository.UserRepository;
+import com.rbaciam.repository.ValidationTokenRepository;
+import com.rbaciam.security.AuthorizationSnapshotService;
+import com.rbaciam.service.InvitationExpiryService;
+import com.rbaciam.utils.ChunkedJob;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Expires invitations that were never accepted. Stale VPENDING users are walked by id in
+ * bounded chunks; for each chunk their validation tokens are deleted, any validation
+ * email still queued is cancelled, and the users are deactivated or, with
+ * {@code app.invitation-expiry.soft-delete}, soft-deleted. Each chunk is its own short
+ * transaction with a pause in between.
+ * <p>
+ * Published metrics: {@code invitations.expired} and
+ * {@code invitations.expiry.tokens.cleared} count the work done,
+ * {@code invitations.expiry.run} times each run, and {@code invitations.pending.stale}
+ * is the backlog left after the last run. A backlog that grows from run to run means
+ * the job is not keeping up with invitation volume.
+ */
+@Service
+public class InvitationExpiryServiceImpl implements InvitationExpiryService {
+	private final UserRepository userRepository;
+	private final ValidationTokenRepository validationTokenRepository;
+	private final EmailOutboxRepository emailOutboxRepository;
+	private final AuthorizationSnapshotService authorizationSnapshotService;
+	private final TransactionTemplate transactionTemplate;
+
+	private final Counter expired;
+	private final Counter tokensCleared;
+	private final Timer runTimer;
+	private final AtomicLong staleBacklog = new AtomicLong();
+
+	@Value("${app.invitation-expiry.ttl:7d}")
+	private Duration ttl;
+
+	@Value("${app.invitation-expiry.soft-delete:false}")
+	private boolean softDelete;
+
+	@Value("${app.invitation-expiry.chunk-size:500}")
+	private int chunkSize;
+
+	@Value("${app.invitation-expiry.chunk-pause:100ms}")
+	private Duration chunkPause;
+
+	@Value("${app.invitation-expiry.max-chunks-per-run:200}")
+	private int maxChunksPerRun;
+
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	public InvitationExpiryServiceImpl(UserRepository userRepository,
+			ValidationTokenRepository validationTokenRepository, EmailOutboxRepository emailOutboxRepository,
+			AuthorizationSnapshotService authorizationSnapshotService, TransactionTemplate transactionTemplate,
+			MeterRegistry meterRegistry) {
+		this.userRepository = userRepository;
+		this.validationTokenRepository = validationTokenRepository;
+		this.emailOutboxRepository = emailOutboxRepository;
+		this.authorizationSnapshotService = authorizationSnapshotService;
+		this.transactionTemplate = transactionTemplate;
+		this.expired = Counter.builder("invitations.expired")
+				.description("Pending invitations expired by the expiry job")
+				.register(meterRegistry);
+		this.tokensCleared = Counter.builder("invitations.expiry.tokens.cleared")
+				.description("Validation tokens deleted by the expiry job")
+				.register(meterRegistry);
+		this.runTimer = Timer.builder("invitations.expiry.run")
+				.description("Duration of invitation expiry runs")
+				.register(meterRegistry);
+		Gauge.builder("invitations.pending.stale", staleBacklog, AtomicLong::get)
+				.description("Invitations past their TTL still pending after the last run")
+				.register(meterRegistry);
+	}
+
+	@Override
+	public int expireStaleInvitations() {
+		Timer.Sample sample = Timer.start();
+		LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+		Pageable chunk = PageRequest.of(0, chunkSize);
+		AtomicLong afterId = new AtomicLong();
+		AtomicInteger total = new AtomicInteger();
+		try {
+			ChunkedJob.run(maxChunksPerRun, chunkPause, () -> {
+				List<Long> ids = userRepository.findStalePendingIds(cutoff, afterId.get(), chunk);
+				if (ids.isEmpty()) {
+					return false;
+				}
+				afterId.set(ids.get(ids.size() - 1));
+				Integer count = transactionTemplate.execute(status -> expire(ids));
+				total.addAndGet(count == null ? 0 : count);
+				authorizationSnapshotService.evictUsers(ids);
+				return ids.size() == chunkSize;
+			});
+			staleBacklog.set(userRepository.countStalePending(cutoff));
+		} catch (DataAccessException ex) {
+			logger.error("TRACE_LOG | Action=EXPIRE_INVITATIONS_FAILED | Expired={} | Error={}", total.get(),
+					ex.getMessage());
+		} finally {
+			sample.stop(runTimer);
+		}
+		if (total.get() > 0) {
+			logger.info("TRACE_LOG | Action=EXPIRE_INVITATIONS | Expired={} | SoftDelete={} | Backlog={}",
+					total.get(), softDelete, staleBacklog.get());
+		}
+		return total.get();
+	}
+
+	private int expire(List<Long> ids) {
+		LocalDateTime now = LocalDateTime.now();
+		int count = softDelete ? userRepository.softDeletePending(ids, now)
+				: userRepository.deactivatePending(ids, now);
+		tokensCleared.increment(validationTokenRepository.deleteByUserIdIn(ids));
+		emailOutboxRepository.cancelPendingForUsers(EmailOutbox.Type.USER_VALIDATION, ids);
+		expired.increment(count);
+		return count;
+	}
+}
@@ -26,8 +26,7 @@ import com.rbaciam.exception.InternalServerException;
 import com.rbaciam.exception.NotFoundException;
 import com.rbaciam.exception.UnauthorizedException;
 import com.rbaciam.repository.PermissionRepository;
-import com.rbaciam.repository.RolePermissionRepository;
-import com.rbaciam.repository.UserRepository;
+import com.rbaciam.security.PrincipalResolver;
 import com.rbaciam.service.PermissionService;
 
 import java.time.LocalDateTime;
@@ -43,8 +42,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PermissionServiceImpl implements PermissionService {
     private final PermissionRepository permissionRepository;
-    private final UserRepository userRepository;
-    private final RolePermissionRepository rolePermissionRepository;
+    private final PrincipalResolver principalResolver;
     private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
 
 /*    @Override
@@ -168,9 +166,10 @@ public class PermissionServiceImpl implements PermissionService {
     }
     */
     @Override
-    @Cacheable(value = "permissions", key = "#id")
+    @Cacheable(value = "permissions", key = "{'permission', #id, @authScope.level(#userId)}",
+            condition = "@authScope.isAdmin(#userId)")
     public Optional<PermissionDTO> getPermissionById(Long id, Long userId) {
-    	 validateUserAccess(userId);
+    	 principalResolver.requireAdminAccess(userId);
         try {
             if (id == null || id <= 0) {
                 throw new BadRequestException("Invalid permission ID: " + id);
@@ -187,34 +186,13 @@ public class PermissionServiceImpl implements PermissionService {
             MDC.clear();
         }
     }
-    private void validateUserAccess(Long userId) {
-		Optional<User> userOpt = userRepository.findByIdAndDeletedAtIsNull(userId);
-		if (userOpt.isEmpty()) {
-			throw new NotFoundException("User not found or inactive");
-		}
-
-		User user = userOpt.get();
-		if (user.getRole() == null) {
-			throw new UnauthorizedException("User does not have permission to access this resource");
-		}
-
-		Set<String> permissions = Optional.ofNullable(user.getRole().getRolePermissions())
-				.orElse(Collections.emptySet()).stream().filter(Objects::nonNull).map(RolePermission::getPermission)
-				.filter(Objects::nonNull).map(Permission::getName).filter(Objects::nonNull).collect(Collectors.toSet());
-
-		boolean hasAccess = permissions.contains("super_admin_access") || permissions.contains("admin_access");
-
-		if (!hasAccess) {
-			throw new UnauthorizedException("User does not have permission to access this resource");
-		}
-	}
-    
     @Override
-    @Cacheable(value = "permissions")
+    @Cacheable(value = "permissions", key = "{'page', @authScope.level(#userId), #page, #size}",
+            condition = "@authScope.isAdmin(#userId)")
     public PaginatedResponse<PermissionDTO> getAllPermissions(int page, int size, Long userId) {
         String requestId = UUID.randomUUID().toString();
         MDC.put("requestId", requestId);
-        validateUserAccess(userId);
+        principalResolver.requireAdminAccess(userId);
 
         try {
             if (page < 0 || size <= 0) {
@@ -307,7 +285,6 @@ public class PermissionServiceImpl implements PermissionService {
     @Override
     public boolean hasPermission(Long userId, String permissionName) {
         try {
-            System.out.println("Checking permission for user: " + userId);
             if (userId == null || userId <= 0) {
                 throw new BadRequestException("Invalid user ID: " + userId);
             }
@@ -318,18 +295,9 @@ public class PermissionServiceImpl implements PermissionService {
 
             logger.info("TRACE_LOG | Action=CHECK_PERMISSION | Permission={} | UserId={}", permissionName, userId);
 
-            boolean result = userRepository.findByIdAndDeletedAtIsNull(userId)
-                .map(user1 -> {
-                    Long roleId = user1.getRole().getId();
-                    return rolePermissionRepository.findByRoleId(roleId).stream()
-                        .anyMatch(rp -> {
-                            System.out.println("RolePermission: " + rp.getPermission().getName());
-                            return rp.getPermission().getName().equals(permissionName);
-                        });
-                }).orElse(false);
-
-            System.out.println("Permission check result: " + result);
-            return result;
+            return principalResolver.resolve(userId)
+                    .map(principal -> principal.hasPermission(permissionName))
+                    .orElse(false);
         } catch (BadRequestException ex) {
             throw ex;
         } catch (DataAccessException ex) {
@@ -0,0 +1,188 @@
+package com.rbaciam.service.impl;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rbaciam.dto.CountryResponse;
+import com.rbaciam.dto.IndustryResponse;
+import com.rbaciam.dto.ReferenceDataBody;
+import com.rbaciam.dto.TimezoneResponse;
+import com.rbaciam.exception.InternalServerException;
+import com.rbaciam.exception.NotFoundException;
+import com.rbaciam.exception.UnauthorizedException;
+import com.rbaciam.repository.CountryRepository;
+import com.rbaciam.repository.IndustryRepository;
+import com.rbaciam.repository.TimezoneRepository;
+import com.rbaciam.security.AuthPrincipal;
+import com.rbaciam.security.PrincipalResolver;
+import com.rbaciam.service.ReferenceDataService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Loads countries, timezones and industries once at startup into immutable arrays and
+ * serializes each set to JSON up front, so a request costs no query, no mapping and no
+ * serialization. The data only changes with a release or an explicit reload, which
+ * swaps in a whole new catalog at once.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataServiceImpl implements ReferenceDataService {
+	private final CountryRepository countryRepository;
+	private final TimezoneRepository timezoneRepository;
+	private final IndustryRepository industryRepository;
+	private final PrincipalResolver principalResolver;
+	private final ObjectMapper objectMapper;
+
+	private final AtomicReference<Catalog> catalog = new AtomicReference<>();
+	private final ReentrantLock loadLock = new ReentrantLock();
+
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		load();
+	}
+
+	@Override
+	public ReferenceDataBody countriesJson(Long userId) {
+		requireUser(userId);
+		return catalog().countriesJson;
+	}
+
+	@Override
+	public ReferenceDataBody timezonesJson(Long userId) {
+		requireUser(userId);
+		return catalog().timezonesJson;
+	}
+
+	@Override
+	public ReferenceDataBody industriesJson(Long userId) {
+		requireUser(userId);
+		return catalog().industriesJson;
+	}
+
+	// The DTOs are mutable, so in-process callers get copies rather than the cached rows
+
+	@Override
+	public List<CountryResponse> countries() {
+		return Arrays.stream(catalog().countries)
+				.map(country -> new CountryResponse(country.getName(), country.getOfficialName(), country.getRegion()))
+				.toList();
+	}
+
+	@Override
+	public List<TimezoneResponse> timezones() {
+		return Arrays.stream(catalog().timezones)
+				.map(timezone -> new TimezoneResponse(timezone.getName(), timezone.getUtcOffset(),
+						timezone.getDescription()))
+				.toList();
+	}
+
+	@Override
+	public List<IndustryResponse> industries() {
+		return Arrays.stream(catalog().industries).map(industry -> new IndustryResponse(industry.getName())).toList();
+	}
+
+	@Override
+	public Map<String, Integer> reload(Long userId) {
+		AuthPrincipal requester = principalResolver.resolve(userId)
+				.orElseThrow(() -> new NotFoundException("User not found: " + userId));
+		if (!requester.isSuperAdmin()) {
+			throw new UnauthorizedException("Only Super Admin can reload reference data");
+		}
+		Catalog loaded = load();
+		Map<String, Integer> counts = new LinkedHashMap<>();
+		counts.put("countries", loaded.countries.length);
+		counts.put("timezones", loaded.timezones.length);
+		counts.put("industries", loaded.industries.length);
+		logger.info("TRACE_LOG | Action=RELOAD_REFERENCE_DATA | Counts={} | UserId={}", counts, userId);
+		return counts;
+	}
+
+	private void requireUser(Long userId) {
+		// Served from the request's principal or the in-memory grant cache
+		principalResolver.resolve(userId).orElseThrow(() -> new NotFoundException("User not found: " + userId));
+	}
+
+	private Catalog catalog() {
+		Catalog current = catalog.get();
+		return current != null ? current : load();
+	}
+
+	private Catalog load() {
+		loadLock.lock();
+		try {
+			Sort byId = Sort.by("id");
+			CountryResponse[] countries = countryRepository.findAll(byId).stream()
+					.map(country -> new CountryResponse(country.getName(), country.getOfficialName(),
+							country.getRegion()))
+					.toArray(CountryResponse[]::new);
+			TimezoneResponse[] timezones = timezoneRepository.findAll(byId).stream()
+					.map(timezone -> new TimezoneResponse(timezone.getName(), timezone.getUtcOffset(),
+							timezone.getDescription()))
+					.toArray(TimezoneResponse[]::new);
+			IndustryResponse[] industries = industryRepository.findAll(byId).stream()
+					.map(industry -> new IndustryResponse(industry.getName()))
+					.toArray(IndustryResponse[]::new);
+
+			Catalog loaded = new Catalog(countries, timezones, industries, serialize(countries),
+					serialize(timezones), serialize(industries));
+			catalog.set(loaded);
+			logger.info("SERVICE_LOG | Reference data loaded: countries={}, timezones={}, industries={}",
+					countries.length, timezones.length, industries.length);
+			return loaded;
+		} catch (DataAccessException ex) {
+			logger.error("SERVICE_LOG | Could not load reference data: {}", ex.getMessage());
+			throw new InternalServerException("Could not load reference data");
+		} finally {
+			loadLock.unlock();
+		}
+	}
+
+	private ReferenceDataBody serialize(Object[] rows) {
+		try {
+			byte[] json = objectMapper.writeValueAsBytes(rows);
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+			return new ReferenceDataBody(json, "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"");
+		} catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("Could not serialize reference data", ex);
+		}
+	}
+
+	private static final class Catalog {
+		private final CountryResponse[] countries;
+		private final TimezoneResponse[] timezones;
+		private final IndustryResponse[] industries;
+		private final ReferenceDataBody countriesJson;
+		private final ReferenceDataBody timezonesJson;
+		private final ReferenceDataBody industriesJson;
+
+		Catalog(CountryResponse[] countries, TimezoneResponse[] timezones, IndustryResponse[] industries,
+				ReferenceDataBody countriesJson, ReferenceDataBody timezonesJson, ReferenceDataBody industriesJson) {
+			this.countries = countries;
+			this.timezones = timezones;
+			this.industries = industries;
+			this.countriesJson = countriesJson;
+			this.timezonesJson = timezonesJson;
+			this.industriesJson = industriesJson;
+		}
+	}
+}
@@ -2,6 +2,8 @@ package com.rbaciam.service.impl;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -9,6 +11,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import com.rbaciam.repository.BatchInsertRepository;
 import com.rbaciam.repository.PermissionRepository;
 import com.rbaciam.repository.RolePermissionRepository;
 import org.apache.commons.lang3.StringUtils;
@@ -22,6 +25,7 @@ import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,10 +34,11 @@ import com.rbaciam.dto.CreateRoleDTO;
 import com.rbaciam.dto.PaginatedResponse;
 import com.rbaciam.dto.PermissionDTO;
 import com.rbaciam.dto.RoleDTO;
+import com.rbaciam.dto.RoleMergeResponseDTO;
 import com.rbaciam.entity.Company;
 import com.rbaciam.entity.Permission;
 import com.rbaciam.entity.Role;
-import com.rbaciam.entity.RolePermission;
+import com.rbaciam.entity.TokenRevocation;
 import com.rbaciam.entity.User;
 import com.rbaciam.exception.AuthenticationExceptionFailed;
 import com.rbaciam.exception.BadRequestException;
@@ -43,8 +48,13 @@ import com.rbaciam.exception.NotFoundException;
 import com.rbaciam.exception.UnauthorizedException;
 import com.rbaciam.repository.RoleRepository;
 import com.rbaciam.repository.UserRepository;
+import com.rbaciam.security.AuthPrincipal;
+import com.rbaciam.security.AuthorizationSnapshotService;
+import com.rbaciam.security.PrincipalResolver;
+import com.rbaciam.security.TokenRevocationService;
 import com.rbaciam.service.PermissionService;
 import com.rbaciam.service.RoleService;
+import com.rbaciam.utils.PageCursor;
 
 import lombok.RequiredArgsConstructor;
 
@@ -60,11 +70,19 @@ public class RoleServiceImpl implements RoleService {
 	private PermissionRepository permissionRepository;
 	@Autowired
 	private RolePermissionRepository rolePermissionRepository;
+	@Autowired
+	private AuthorizationSnapshotService authorizationSnapshotService;
+	@Autowired
+	private PrincipalResolver principalResolver;
+	@Autowired
+	private BatchInsertRepository batchInsertRepository;
+	@Autowired
+	private TokenRevocationService tokenRevocationService;
 
 
 	@Override
 	@Transactional
-	@CacheEvict(value = "roles", key = "#roleId")
+	@CacheEvict(value = "roles", allEntries = true)
 	public void assignPermissionsToRole(Long roleId, List<Long> permissionIds, Long userId) {
 		String requestId = UUID.randomUUID().toString();
 		MDC.put("requestId", requestId);
@@ -97,28 +115,35 @@ public class RoleServiceImpl implements RoleService {
 			}
 
 			// Validate all permissions exist
-			List<Permission> permissions = permissionRepository.findAllById(permissionIds);
-			if (permissions.size() != permissionIds.size()) {
+			Set<Long> requested = new LinkedHashSet<>(permissionIds);
+			List<Permission> permissions = permissionRepository.findAllById(requested);
+			if (permissions.size() != requested.size()) {
 				logger.error("SERVICE_LOG | Some permission IDs not found");
 				throw new NotFoundException("One or more permissions not found");
 			}
 
-			logger.info("SERVICE_LOG | Removing existing permissions for role ID={}", roleId);
-			// Remove existing permissions for this role
-			rolePermissionRepository.deleteByRoleId(roleId);
+			// Only touch the rows that differ from the current assignment
+			Set<Long> current = new HashSet<>(rolePermissionRepository.findPermissionIdsByRoleId(roleId));
+			Set<Long> toRemove = current.stream().filter(id -> !requested.contains(id)).collect(Collectors.toSet());
+			List<Long> toAdd = requested.stream().filter(id -> !current.contains(id)).toList();
+
+			if (!toRemove.isEmpty()) {
+				logger.info("SERVICE_LOG | Removing {} permissions from role ID={}", toRemove.size(), roleId);
+				rolePermissionRepository.deleteByRoleIdAndPermissionIdIn(roleId, toRemove);
+			}
+			if (!toAdd.isEmpty()) {
+				logger.info("SERVICE_LOG | Adding {} permissions to role ID={}", toAdd.size(), roleId);
+				batchInsertRepository.insertRolePermissions(role.getId(), toAdd);
+			}
 
-			logger.info("SERVICE_LOG | Assigning {} new permissions to role ID={}",
-					permissions.size(), roleId);
-			// Assign new permissions
-			for (Permission permission : permissions) {
-				RolePermission rolePermission = new RolePermission();
-				rolePermission.setRole(role);
-				rolePermission.setPermission(permission);
-				rolePermissionRepository.save(rolePermission);
+			if (!toRemove.isEmpty() || !toAdd.isEmpty()) {
+				authorizationSnapshotService.rebuildAfterCommit();
+				tokenRevocationService.revoke(TokenRevocation.SubjectType.ROLE, roleId, userId);
 			}
 
-			logger.info("TRACE_LOG | Action=ASSIGN_PERMISSIONS | RoleId={} | PermissionCount={} | UserId={}",
-					roleId, permissions.size(), userId);
+			logger.info(
+					"TRACE_LOG | Action=ASSIGN_PERMISSIONS | RoleId={} | PermissionCount={} | Added={} | Removed={} | UserId={}",
+					roleId, permissions.size(), toAdd.size(), toRemove.size(), userId);
 			logger.info("SERVICE_LOG | Successfully assigned permissions to role ID={}", roleId);
 
 		} catch (AuthenticationExceptionFailed | UnauthorizedException |
@@ -137,8 +162,8 @@ public class RoleServiceImpl implements RoleService {
 
 	@Override
 	@Transactional
-	@CacheEvict(value = "roles", key = "#roleId")
-	public void removePermissionsFromRole(Long roleId, List<Long> permissionIds, Long userId) {
+	@CacheEvict(value = "roles", allEntries = true)
+	public int removePermissionsFromRole(Long roleId, List<Long> permissionIds, Long userId) {
 		String requestId = UUID.randomUUID().toString();
 		MDC.put("requestId", requestId);
 		MDC.put("userId", String.valueOf(userId));
@@ -172,14 +197,20 @@ public class RoleServiceImpl implements RoleService {
 			logger.info("SERVICE_LOG | Removing {} permissions from role ID={}",
 					permissionIds.size(), roleId);
 
-			// Remove specific permissions
-			for (Long permissionId : permissionIds) {
-				rolePermissionRepository.deleteByRoleIdAndPermissionId(roleId, permissionId);
+			// Remove specific permissions in one statement
+			int removed = rolePermissionRepository.deleteByRoleIdAndPermissionIdIn(roleId,
+					new HashSet<>(permissionIds));
+
+			if (removed > 0) {
+				authorizationSnapshotService.rebuildAfterCommit();
+				tokenRevocationService.revoke(TokenRevocation.SubjectType.ROLE, roleId, userId);
 			}
 
-			logger.info("TRACE_LOG | Action=REMOVE_PERMISSIONS | RoleId={} | PermissionCount={} | UserId={}",
-					roleId, permissionIds.size(), userId);
+			logger.info(
+					"TRACE_LOG | Action=REMOVE_PERMISSIONS | RoleId={} | PermissionCount={} | Removed={} | UserId={}",
+					roleId, permissionIds.size(), removed, userId);
 			logger.info("SERVICE_LOG | Successfully removed permissions from role ID={}", roleId);
+			return removed;
 
 		} catch (AuthenticationExceptionFailed | UnauthorizedException |
 				 NotFoundException | BadRequestException ex) {
@@ -196,7 +227,8 @@ public class RoleServiceImpl implements RoleService {
 	}
 
 	@Override
-	@Cacheable(value = "roles", key = "#roleId")
+	@Cacheable(value = "roles", key = "{'permissions', #roleId, @authScope.level(#userId)}",
+			condition = "@authScope.isAdmin(#userId)")
 	public List<PermissionDTO> getRolePermissions(Long roleId, Long userId) {
 		String requestId = UUID.randomUUID().toString();
 		MDC.put("requestId", requestId);
@@ -210,7 +242,7 @@ public class RoleServiceImpl implements RoleService {
 			}
 
 			// Validate user has access
-			validateUserAccess(userId);
+			principalResolver.requireAdminAccess(userId);
 
 			// Validate role exists
 			Role role = roleRepository.findByIdAndDeletedAtIsNull(roleId)
@@ -270,6 +302,7 @@ public class RoleServiceImpl implements RoleService {
 
 			Role role = mapAndPrepareRole(roleDTO, userId);
 			Role savedRole = roleRepository.save(role);
+			authorizationSnapshotService.rebuildAfterCommit();
 
 			logger.info("SERVICE_LOG | Role created successfully: {}", role.getName());
 			return mapToDTOCreate(savedRole);
@@ -348,7 +381,7 @@ public class RoleServiceImpl implements RoleService {
 
 	@Override
 	@Transactional
-	@CacheEvict(value = "roles", key = "#id")
+	@CacheEvict(value = "roles", allEntries = true)
 	public CreateRoleDTO updateRole(Long id, CreateRoleDTO updatedRoleDTO, Long userId) {
 		String requestId = UUID.randomUUID().toString();
 		MDC.put("requestId", requestId);
@@ -382,6 +415,7 @@ public class RoleServiceImpl implements RoleService {
 			logger.info("TRACE_LOG | Action=UPDATE_ROLE | ID={} | Name={} | UserId={}", id, role.getName(), userId);
 			try {
 				Role updatedRole = roleRepository.save(role);
+				authorizationSnapshotService.rebuildAfterCommit();
 				return mapToDTOCreate(updatedRole);
 			} catch (DataAccessException ex) {
 				logger.error("SERVICE_LOG | Database error while updating role: {}", ex.getMessage());
@@ -397,7 +431,7 @@ public class RoleServiceImpl implements RoleService {
 
 	@Override
 	@Transactional
-	@CacheEvict(value = "roles", key = "#id")
+	@CacheEvict(value = "roles", allEntries = true)
 	public void deleteRole(Long id, Long userId) {
 		String requestId = UUID.randomUUID().toString();
 		MDC.put("requestId", requestId);
@@ -429,6 +463,8 @@ public class RoleServiceImpl implements RoleService {
 
 			System.out.println("Saving role...");
 			roleRepository.save(role);
+			authorizationSnapshotService.rebuildAfterCommit();
+			tokenRevocationService.revoke(TokenRevocation.SubjectType.ROLE, id, userId);
 			System.out.println("Role soft-deleted successfully.");
 
 		} catch (DataAccessException ex) {
@@ -442,10 +478,69 @@ public class RoleServiceImpl implements RoleService {
 		}
 	}
 
+	/**
+	 * Moves every user of the source role to the target role with one UPDATE and
+	 * optionally soft-deletes the source. Per-user grants are dropped wholesale and the
+	 * snapshot is rebuilt after commit; the company listings count users by role, so
+	 * they are evicted together with the role caches.
+	 */
+	@Override
+	@Transactional
+	@CacheEvict(value = { "roles", "companies" }, allEntries = true)
+	public RoleMergeResponseDTO mergeRoles(Long sourceRoleId, Long targetRoleId, boolean deleteSource, Long userId) {
+		String requestId = UUID.randomUUID().toString();
+		MDC.put("requestId", requestId);
+		MDC.put("userId", String.valueOf(userId));
+		try {
+			if (userId == null || userId <= 0) {
+				logger.error("SERVICE_LOG | Invalid user ID: {}", userId);
+				throw new AuthenticationExceptionFailed("Invalid user ID: " + userId);
+			}
+			if (!permissionService.hasPermission(userId, "super_admin_access")) {
+				logger.warn("SERVICE_LOG | User ID={} lacks super_admin_access", userId);
+				throw new UnauthorizedException("Only Super Admin can merge roles");
+			}
+			if (sourceRoleId == null || targetRoleId == null || sourceRoleId.equals(targetRoleId)) {
+				throw new BadRequestException("Source and target roles must be two different roles");
+			}
+			Role source = roleRepository.findByIdAndDeletedAtIsNull(sourceRoleId)
+					.orElseThrow(() -> new NotFoundException("Role not found: " + sourceRoleId));
+			Role target = roleRepository.findByIdAndDeletedAtIsNull(targetRoleId)
+					.orElseThrow(() -> new NotFoundException("Role not found: " + targetRoleId));
+
+			LocalDateTime now = LocalDateTime.now();
+			int moved = userRepository.reassignRole(source, target, userId, now);
+
+			if (deleteSource) {
+				source.setDeletedAt(now);
+				source.setDeletedBy(userId);
+				roleRepository.save(source);
+			}
+
+			authorizationSnapshotService.evictAllUsers();
+			authorizationSnapshotService.rebuildAfterCommit();
+			tokenRevocationService.revoke(TokenRevocation.SubjectType.ROLE, sourceRoleId, userId);
+
+			logger.info("TRACE_LOG | Action=MERGE_ROLES | SourceRoleId={} | TargetRoleId={} | UsersMoved={} | "
+					+ "SourceDeleted={} | UserId={}", sourceRoleId, targetRoleId, moved, deleteSource, userId);
+			return new RoleMergeResponseDTO(sourceRoleId, targetRoleId, moved, deleteSource);
+
+		} catch (AuthenticationExceptionFailed | UnauthorizedException | NotFoundException
+				| BadRequestException ex) {
+			throw ex;
+		} catch (DataAccessException ex) {
+			logger.error("SERVICE_LOG | Database error while merging roles: {}", ex.getMessage());
+			throw new InternalServerException("Failed to merge roles due to database error");
+		} finally {
+			MDC.clear();
+		}
+	}
+
 	@Override
-	@Cacheable(value = "roles", key = "#id")
+	@Cacheable(value = "roles", key = "{'role', #roleId, @authScope.level(#userId)}",
+			condition = "@authScope.isAdmin(#userId)")
 	public Optional<RoleDTO> getRoleById(Long userId, Long roleId) {
-		validateUserAccess(userId);
+		principalResolver.requireAdminAccess(userId);
 		String requestId = UUID.randomUUID().toString();
 		MDC.put("requestId", requestId);
 		try {
@@ -469,31 +564,10 @@ public class RoleServiceImpl implements RoleService {
 		}
 	}
 
-	private void validateUserAccess(Long userId) {
-		Optional<User> userOpt = userRepository.findByIdAndDeletedAtIsNull(userId);
-		if (userOpt.isEmpty()) {
-			throw new NotFoundException("User not found or inactive");
-		}
-
-		User user = userOpt.get();
-		if (user.getRole() == null) {
-			throw new UnauthorizedException("User does not have permission to access this resource");
-		}
-
-		Set<String> permissions = Optional.ofNullable(user.getRole().getRolePermissions())
-				.orElse(Collections.emptySet()).stream().filter(Objects::nonNull).map(RolePermission::getPermission)
-				.filter(Objects::nonNull).map(Permission::getName).filter(Objects::nonNull).collect(Collectors.toSet());
-
-		boolean hasAccess = permissions.contains("super_admin_access") || permissions.contains("admin_access");
-
-		if (!hasAccess) {
-			throw new UnauthorizedException("User does not have permission to access this resource");
-		}
-	}
-
 	@Override
+	@Transactional(readOnly = true)
 	public PaginatedResponse<RoleDTO> filterRoles(String name, Long permissionId, LocalDateTime createdFrom,
-			LocalDateTime createdTo, int page, int size, Long userId) {
+			LocalDateTime createdTo, int page, int size, Long userId, String after, Boolean includeTotal) {
 		String requestId = UUID.randomUUID().toString();
 		MDC.put("requestId", requestId);
 		try {
@@ -507,24 +581,33 @@ public class RoleServiceImpl implements RoleService {
 
 			page = Math.max(0, page);
 			size = size <= 0 ? 10 : Math.min(size, 100);
-			Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+			PageCursor cursor = PageCursor.decode(after);
+			if (cursor != null) {
+				page = 0;
+			}
+			Pageable pageable = PageRequest.of(page, size, PageCursor.SORT);
 
 			String normalizedName = StringUtils.isBlank(name) ? null : name.trim().toLowerCase();
 
-			Page<Role> rolePage;
+			Slice<Role> roleSlice;
+			int total;
 			try {
-				rolePage = roleRepository.filterRolesByCriteria(normalizedName, permissionId, createdFrom, createdTo,
-						pageable);
+				roleSlice = roleRepository.filterRolesAfter(normalizedName, permissionId, createdFrom, createdTo,
+						PageCursor.createdAtOf(cursor), PageCursor.idOf(cursor), pageable);
+				total = (includeTotal != null ? includeTotal : cursor == null)
+						? (int) roleRepository.countFilteredRoles(normalizedName, permissionId, createdFrom, createdTo)
+						: -1;
 			} catch (DataAccessException ex) {
 				logger.error("SERVICE_LOG | DB error while filtering roles: {}", ex.getMessage());
 				throw new InternalServerException("Failed to filter roles due to DB error");
 			}
 
-			List<RoleDTO> dtoList = rolePage.getContent().stream().map(this::mapToDTO).filter(Objects::nonNull)
+			List<RoleDTO> dtoList = roleSlice.getContent().stream().map(this::mapToDTO).filter(Objects::nonNull)
 					.collect(Collectors.toList());
 
-			return new PaginatedResponse<>(dtoList, rolePage.getNumber(), rolePage.getSize(),
-					(int) rolePage.getTotalElements(), rolePage.getTotalPages());
+			return new PaginatedResponse<>(dtoList, page, size, total,
+					total < 0 ? -1 : (int) Math.ceil((double) total / size),
+					PageCursor.next(roleSlice, Role::getCreatedAt, Role::getId));
 
 		} catch (UnauthorizedException | BadRequestException ex) {
 			throw ex;
@@ -536,23 +619,20 @@ public class RoleServiceImpl implements RoleService {
 		}
 	}
 
+	@Transactional(readOnly = true)
 	public PaginatedResponse<RoleDTO> getAllRoles(Long userId, int page, int size, String search) {
-		validateUserAccess(userId);
+		AuthPrincipal principal = principalResolver.requireAdminAccess(userId);
 
 		try {
 			if (page < 0 || size <= 0) {
 				throw new BadRequestException("Page or size parameters are invalid");
 			}
 
-			User user = userRepository.findByIdAndDeletedAtIsNull(userId)
-					.orElseThrow(() -> new NotFoundException("User not found: " + userId));
-
-			Company company = user.getCompany();
-			if (company == null || company.getDeletedAt() != null) {
+			if (principal.getCompanyId() == null || !principal.isCompanyActive()) {
 				throw new NotFoundException("Company not found for user: " + userId);
 			}
 
-			if (!hasgetRolePermission(user, company)) {
+			if (!principal.canManage(principal.getCompanyId())) {
 				throw new UnauthorizedException("You don't have permission to get the roles");
 			}
 
@@ -633,30 +713,4 @@ public class RoleServiceImpl implements RoleService {
 		role.setName(roleDTO.getName());
 		role.setType(Role.Type.valueOf(roleDTO.getType()));
 	}
-
-	private boolean hasgetRolePermission(User user, Company company) {
-		if (user == null || user.getRole() == null)
-			return false;
-
-		Set<String> permissions = Optional.ofNullable(user.getRole()).map(Role::getRolePermissions)
-				.orElse(Collections.emptySet()).stream().filter(Objects::nonNull).map(RolePermission::getPermission)
-				.filter(Objects::nonNull).map(Permission::getName).filter(Objects::nonNull).collect(Collectors.toSet());
-
-		boolean isSuperAdmin = permissions.contains("super_admin_access");
-		boolean isAdmin = permissions.contains("admin_access");
-
-		if (isSuperAdmin) {
-			return true;
-		}
-		return isAdmin && user.getCompany() != null && user.getCompany().getId().equals(company.getId());
-	}
-
-	private boolean hasSuperAdminAccess(User user) {
-		if (user == null || user.getRole() == null) {
-			return false;
-		}
-
-		return user.getRole().getRolePermissions().stream().filter(Objects::nonNull).map(RolePermission::getPermission)
-				.filter(Objects::nonNull).map(Permission::getName).anyMatch("super_admin_access"::equals);
-	}
 }
\ No newline at end of file
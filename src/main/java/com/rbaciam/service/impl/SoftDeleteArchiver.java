@@ -0,0 +1,31 @@
+package com.rbaciam.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.rbaciam.service.ArchiveService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Runs the archival pass on a schedule, by default nightly. Disable with
+ * {@code app.archive.enabled=false}.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class SoftDeleteArchiver {
+	private final ArchiveService archiveService;
+
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	@Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+	public void archive() {
+		long started = System.currentTimeMillis();
+		int moved = archiveService.archiveDeleted();
+		logger.info("TRACE_LOG | Action=ARCHIVE_RUN | Rows={} | TookMs={}", moved, System.currentTimeMillis() - started);
+	}
+}
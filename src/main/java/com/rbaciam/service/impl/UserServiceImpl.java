@@ -2,15 +2,18 @@ package com.rbaciam.service.impl;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -18,34 +21,50 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.rbaciam.dto.BulkRoleChangeRequestDTO;
+import com.rbaciam.dto.BulkRoleChangeResponseDTO;
+import com.rbaciam.dto.BulkUserCreateRequestDTO;
+import com.rbaciam.dto.BulkUserCreateResponseDTO;
+import com.rbaciam.dto.BulkUserCreateResultDTO;
 import com.rbaciam.dto.PaginatedResponse;
 import com.rbaciam.dto.UserCreateDTO;
 import com.rbaciam.dto.UserDTO;
 import com.rbaciam.dto.UserUpdateDTO;
 import com.rbaciam.entity.Company;
-import com.rbaciam.entity.Permission;
 import com.rbaciam.entity.Role;
-import com.rbaciam.entity.RolePermission;
+import com.rbaciam.entity.TokenRevocation;
 import com.rbaciam.entity.User;
 import com.rbaciam.exception.BadRequestException;
 import com.rbaciam.exception.DuplicateException;
-import com.rbaciam.exception.EmailSendingException;
 import com.rbaciam.exception.InternalServerException;
 import com.rbaciam.exception.NotFoundException;
 import com.rbaciam.exception.UnauthorizedException;
+import com.rbaciam.repository.BatchInsertRepository;
 import com.rbaciam.repository.CompanyRepository;
 import com.rbaciam.repository.RoleRepository;
 import com.rbaciam.repository.UserRepository;
-import com.rbaciam.service.PermissionService;
+import com.rbaciam.security.AccessPolicy;
+import com.rbaciam.security.AuthPrincipal;
+import com.rbaciam.security.AuthorizationSnapshot;
+import com.rbaciam.security.AuthorizationSnapshotService;
+import com.rbaciam.security.PasswordHasher;
+import com.rbaciam.security.PrincipalResolver;
+import com.rbaciam.security.TokenRevocationService;
 import com.rbaciam.service.UserService;
+import com.rbaciam.utils.PageCursor;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -55,17 +74,30 @@ import lombok.extern.slf4j.Slf4j;
 public class UserServiceImpl implements UserService {
 	private final UserRepository userRepository;
 	private final RoleRepository roleRepository;
-	private final PasswordEncoder passwordEncoder;
-	private final PermissionService permissionService;
-	private final EmailService emailService;
+	private final PasswordHasher passwordHasher;
+	private final EmailOutboxService emailOutboxService;
 	private final CompanyRepository companyRepository;
+	private final AuthorizationSnapshotService authorizationSnapshotService;
+	private final PrincipalResolver principalResolver;
+	private final BatchInsertRepository batchInsertRepository;
+	private final Validator validator;
+	private final TokenRevocationService tokenRevocationService;
+	private final ValidationTokenService validationTokenService;
 
 	@Value("${app.base-url}")
 	private String baseUrl;
 
 	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
 
+	/** Upper bound on the IN list sent per email lookup. */
+	private static final int EMAIL_LOOKUP_CHUNK = 1000;
+
+	/** Upper bound on the ids sent per bulk role UPDATE. */
+	private static final int ROLE_UPDATE_CHUNK = 1000;
+
 	@Override
+	@Transactional
+	@CacheEvict(value = "companies", allEntries = true)
 	public Map<String, Object> createUser(UserCreateDTO userCreateDTO, Long userId) {
 		try {
 			logger.info("Attempting to create user with email: {}", userCreateDTO.getEmail());
@@ -75,7 +107,7 @@ public class UserServiceImpl implements UserService {
 				throw new DuplicateException("Email already exists: " + userCreateDTO.getEmail());
 			}
 
-			User requestingUser = userRepository.findByIdAndDeletedAtIsNull(userId)
+			AuthPrincipal requester = principalResolver.resolve(userId)
 					.orElseThrow(() -> new NotFoundException("Requesting user not found: " + userId));
 
 			Role role = roleRepository.findById(userCreateDTO.getRoleId())
@@ -84,19 +116,16 @@ public class UserServiceImpl implements UserService {
 			Company company = companyRepository.findById(userCreateDTO.getCompanyId()).orElseThrow(
 					() -> new NotFoundException("Company not found with ID: " + userCreateDTO.getCompanyId()));
 
-			if (!hasPermission(requestingUser, company)) {
+			if (!requester.canManage(company.getId())) {
 				throw new UnauthorizedException("You don't have permission to create users.");
 			}
 
-			String authToken = UUID.randomUUID().toString();
-
 			User user = new User();
 			user.setName(userCreateDTO.getName());
 			user.setEmail(userCreateDTO.getEmail());
 			user.setRole(role);
 			user.setCompany(company);
 			user.setStatus(User.Status.VPENDING);
-			user.setAuthToken(authToken);
 			user.setPassword(null);
 			user.setCreatedAt(LocalDateTime.now());
 			user.setUpdatedAt(LocalDateTime.now());
@@ -105,13 +134,10 @@ public class UserServiceImpl implements UserService {
 			user.setPasswordChanged(false);
 
 			userRepository.save(user);
+			String validationToken = validationTokenService.issue(user);
 
-			try {
-				String validationUrl = baseUrl + "/validate/" + authToken;
-				emailService.sendUserValidationLink(user.getEmail(), user.getName(), validationUrl);
-			} catch (EmailSendingException e) {
-				logger.error("Failed to send validation email, but user was created", e);
-			}
+			// Sent by the outbox dispatcher once this transaction commits
+			emailOutboxService.enqueueValidationLink(user, baseUrl + "/validate/" + validationToken);
 
 			Map<String, Object> response = new HashMap<>();
 			response.put("id", user.getId());
@@ -128,6 +154,134 @@ public class UserServiceImpl implements UserService {
 		}
 	}
 
+	/**
+	 * Creates many users in one transaction. Every row is checked up front against
+	 * set-based lookups (taken emails, roles, companies); rejected rows are reported and
+	 * skipped, and the rest are written with JDBC batch inserts together with their
+	 * validation emails.
+	 */
+	@Override
+	@Transactional
+	@CacheEvict(value = "companies", allEntries = true)
+	public BulkUserCreateResponseDTO bulkCreateUsers(BulkUserCreateRequestDTO request, Long userId) {
+		AuthPrincipal requester = principalResolver.resolve(userId)
+				.orElseThrow(() -> new NotFoundException("Requesting user not found: " + userId));
+		if (!requester.isSuperAdmin() && !requester.isAdmin()) {
+			throw new UnauthorizedException("You don't have permission to create users.");
+		}
+
+		List<UserCreateDTO> rows = request.getUsers();
+		logger.info("TRACE_LOG | Action=BULK_CREATE_USERS | Requested={} | UserId={}", rows.size(), userId);
+
+		try {
+			Set<String> takenEmails = findTakenEmails(rows);
+			Map<Long, Role> roles = roleRepository
+					.findAllById(rows.stream().map(UserCreateDTO::getRoleId).filter(Objects::nonNull)
+							.collect(Collectors.toSet()))
+					.stream().filter(role -> role.getDeletedAt() == null)
+					.collect(Collectors.toMap(Role::getId, Function.identity()));
+			Map<Long, Company> companies = companyRepository
+					.findAllById(rows.stream().map(UserCreateDTO::getCompanyId).filter(Objects::nonNull)
+							.collect(Collectors.toSet()))
+					.stream().filter(company -> company.getDeletedAt() == null)
+					.collect(Collectors.toMap(Company::getId, Function.identity()));
+
+			LocalDateTime now = LocalDateTime.now();
+			Set<String> seenEmails = new HashSet<>();
+			List<BulkUserCreateResultDTO> results = new ArrayList<>(rows.size());
+			List<User> users = new ArrayList<>();
+			List<BulkUserCreateResultDTO> createdResults = new ArrayList<>();
+
+			for (int i = 0; i < rows.size(); i++) {
+				UserCreateDTO row = rows.get(i);
+				String email = row == null ? null : row.getEmail();
+				String error = validateBulkRow(row, requester, takenEmails, seenEmails, roles, companies);
+				BulkUserCreateResultDTO result = new BulkUserCreateResultDTO(i, email, error == null, null, error);
+				results.add(result);
+				if (error != null) {
+					continue;
+				}
+
+				User user = new User();
+				user.setName(row.getName());
+				user.setEmail(email);
+				user.setRole(roles.get(row.getRoleId()));
+				user.setCompany(companies.get(row.getCompanyId()));
+				user.setStatus(User.Status.VPENDING);
+				user.setCreatedAt(now);
+				user.setUpdatedAt(now);
+				user.setCreatedBy(userId);
+				user.setUpdatedBy(userId);
+				user.setPasswordChanged(false);
+				users.add(user);
+				createdResults.add(result);
+			}
+
+			if (!users.isEmpty()) {
+				batchInsertRepository.insertUsers(users);
+				for (int i = 0; i < users.size(); i++) {
+					createdResults.get(i).setUserId(users.get(i).getId());
+				}
+				Map<Long, String> validationTokens = validationTokenService.issueAll(users);
+				// Sent by the outbox dispatcher once this transaction commits
+				emailOutboxService.enqueueValidationLinks(users,
+						user -> baseUrl + "/validate/" + validationTokens.get(user.getId()));
+			}
+
+			logger.info("TRACE_LOG | Action=BULK_CREATE_USERS | Created={} | Failed={} | UserId={}", users.size(),
+					rows.size() - users.size(), userId);
+			return new BulkUserCreateResponseDTO(rows.size(), users.size(), rows.size() - users.size(), results);
+		} catch (DataAccessException ex) {
+			logger.error("SERVICE_LOG | Database error during bulk user creation: {}", ex.getMessage());
+			throw new InternalServerException("Database error while creating users");
+		}
+	}
+
+	/**
+	 * Returns why a bulk row cannot be created, or null when it can. Accepted emails are
+	 * recorded in {@code seenEmails} so later duplicates in the same request are rejected.
+	 */
+	private String validateBulkRow(UserCreateDTO row, AuthPrincipal requester, Set<String> takenEmails,
+			Set<String> seenEmails, Map<Long, Role> roles, Map<Long, Company> companies) {
+		if (row == null) {
+			return "Row is empty";
+		}
+		Set<ConstraintViolation<UserCreateDTO>> violations = validator.validate(row);
+		if (!violations.isEmpty()) {
+			return violations.stream().map(ConstraintViolation::getMessage).sorted()
+					.collect(Collectors.joining("; "));
+		}
+		String key = row.getEmail().toLowerCase(Locale.ROOT);
+		if (takenEmails.contains(key)) {
+			return "Email already exists: " + row.getEmail();
+		}
+		if (seenEmails.contains(key)) {
+			return "Duplicate email in request: " + row.getEmail();
+		}
+		if (!roles.containsKey(row.getRoleId())) {
+			return "Role not found";
+		}
+		if (!companies.containsKey(row.getCompanyId())) {
+			return "Company not found with ID: " + row.getCompanyId();
+		}
+		if (!requester.canManage(row.getCompanyId())) {
+			return "You don't have permission to create users in company " + row.getCompanyId();
+		}
+		seenEmails.add(key);
+		return null;
+	}
+
+	private Set<String> findTakenEmails(List<UserCreateDTO> rows) {
+		List<String> emails = rows.stream().filter(Objects::nonNull).map(UserCreateDTO::getEmail)
+				.filter(StringUtils::isNotBlank).distinct().toList();
+		Set<String> taken = new HashSet<>();
+		for (int from = 0; from < emails.size(); from += EMAIL_LOOKUP_CHUNK) {
+			userRepository.findExistingEmails(emails.subList(from, Math.min(from + EMAIL_LOOKUP_CHUNK, emails.size())))
+					.forEach(email -> taken.add(email.toLowerCase(Locale.ROOT)));
+		}
+		return taken;
+	}
+
 	private String generateRandomPassword() {
 		String upper = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
 		String lower = "abcdefghijklmnopqrstuvwxyz";
@@ -160,6 +314,7 @@ public class UserServiceImpl implements UserService {
 	}
 
 	@Override
+	@CacheEvict(value = "companies", allEntries = true)
 	public Map<String, Object> updateUser(Long id, UserUpdateDTO dto, Long requesterId) {
 		try {
 			if (id == null || id <= 0 || requesterId == null || requesterId <= 0) {
@@ -169,10 +324,10 @@ public class UserServiceImpl implements UserService {
 			User targetUser = userRepository.findByIdAndDeletedAtIsNull(id)
 					.orElseThrow(() -> new NotFoundException("User not found"));
 
-			User actingUser = userRepository.findByIdAndDeletedAtIsNull(requesterId)
+			AuthPrincipal actingUser = principalResolver.resolve(requesterId)
 					.orElseThrow(() -> new NotFoundException("Requester not found"));
 
-			if (!hasPermission(actingUser, targetUser.getCompany())) {
+			if (targetUser.getCompany() == null || !actingUser.canManage(targetUser.getCompany().getId())) {
 				throw new UnauthorizedException("No update permission");
 			}
 
@@ -200,6 +355,12 @@ public class UserServiceImpl implements UserService {
 			targetUser.setUpdatedAt(LocalDateTime.now());
 			targetUser.setUpdatedBy(requesterId);
 			userRepository.save(targetUser);
+			authorizationSnapshotService.evictUser(targetUser.getId());
+			if (dto.getStatus() != null && targetUser.getStatus() != User.Status.ACTIVE) {
+				tokenRevocationService.revoke(TokenRevocation.SubjectType.USER, targetUser.getId(), requesterId);
+			} else if (dto.getRoleId() != null) {
+				tokenRevocationService.revoke(TokenRevocation.SubjectType.USER_GRANT, targetUser.getId(), requesterId);
+			}
 
 			Map<String, Object> response = new HashMap<>();
 			response.put("id", targetUser.getId());
@@ -213,31 +374,14 @@ public class UserServiceImpl implements UserService {
 		}
 	}
 
-	private boolean hasPermission(User actingUser, Company targetCompany) {
-		if (actingUser == null || actingUser.getRole() == null)
-			return false;
-
-		Set<String> permissions = Optional.ofNullable(actingUser.getRole()).map(Role::getRolePermissions)
-				.orElse(Collections.emptySet()).stream().filter(Objects::nonNull).map(RolePermission::getPermission)
-				.filter(Objects::nonNull).map(Permission::getName).filter(Objects::nonNull).collect(Collectors.toSet());
-
-		boolean isSuperAdmin = permissions.contains("super_admin_access");
-		boolean isAdmin = permissions.contains("admin_access");
-
-		if (isSuperAdmin)
-			return true;
-
-		return isAdmin && actingUser.getCompany() != null
-				&& actingUser.getCompany().getId().equals(targetCompany.getId());
-	}
-
 	@Override
+	@CacheEvict(value = "companies", allEntries = true)
 	public void deleteUser(Long id, Long requesterId) {
 
 		User targetUser = userRepository.findByIdAndDeletedAtIsNull(id)
 				.orElseThrow(() -> new NotFoundException("User not found: " + id));
 
-		User actingUser = userRepository.findByIdAndDeletedAtIsNull(requesterId)
+		AuthPrincipal actingUser = principalResolver.resolve(requesterId)
 				.orElseThrow(() -> new NotFoundException("Requester user not found: " + requesterId));
 
 		Company company = targetUser.getCompany();
@@ -245,7 +389,7 @@ public class UserServiceImpl implements UserService {
 			throw new NotFoundException("Target user has no valid company.");
 		}
 
-		if (!hasPermission(actingUser, company)) {
+		if (!actingUser.canManage(company.getId())) {
 			throw new UnauthorizedException("You don't have permission to delete this user.");
 		}
 
@@ -253,9 +397,12 @@ public class UserServiceImpl implements UserService {
 		targetUser.setDeletedBy(requesterId);
 
 		userRepository.save(targetUser);
+		authorizationSnapshotService.evictUser(targetUser.getId());
+		tokenRevocationService.revoke(TokenRevocation.SubjectType.USER, targetUser.getId(), requesterId);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Optional<UserDTO> getUserById(Long id, Long userId) {
 		try {
 			if (id == null || id <= 0) {
@@ -269,16 +416,16 @@ public class UserServiceImpl implements UserService {
 			User targetUser = userRepository.findByIdAndDeletedAtIsNull(id)
 					.orElseThrow(() -> new NotFoundException("User not found: " + id));
 
-			User actingUser = userRepository.findByIdAndDeletedAtIsNull(userId)
+			AuthPrincipal actingUser = principalResolver.resolve(userId)
 					.orElseThrow(() -> new NotFoundException("Requester user not found: " + userId));
 
-			if (!hasSuperAdminAccess(actingUser)) {
+			if (!actingUser.isSuperAdmin()) {
 				Company company = targetUser.getCompany();
 				if (company == null || company.getDeletedAt() != null) {
 					throw new NotFoundException("Target user has no valid company.");
 				}
 
-				if (!hasViewPermission(actingUser, company)) {
+				if (!actingUser.canView(company.getId())) {
 					throw new UnauthorizedException("You don't have permission to view this user");
 				}
 			}
@@ -296,30 +443,6 @@ public class UserServiceImpl implements UserService {
 		}
 	}
 
-	private boolean hasViewPermission(User user, Company requestedCompany) {
-		if (user == null || user.getRole() == null) {
-			return false;
-		}
-
-		Set<String> permissions = user.getRole().getRolePermissions().stream().filter(Objects::nonNull)
-				.map(RolePermission::getPermission).filter(Objects::nonNull).map(Permission::getName)
-				.collect(Collectors.toSet());
-
-		if (permissions.contains("super_admin_access")) {
-			return true;
-		}
-
-		if (permissions.contains("admin_access")) {
-			return user.getCompany() != null && user.getCompany().getId().equals(requestedCompany.getId());
-		}
-
-		if (permissions.contains("user_access")) {
-			return user.getCompany() != null && user.getCompany().getId().equals(requestedCompany.getId());
-		}
-
-		return false;
-	}
-
 	private UserDTO mapToDTO(User user) {
 		UserDTO userDTO = new UserDTO();
 
@@ -335,67 +458,53 @@ public class UserServiceImpl implements UserService {
 		return userDTO;
 	}
 
-	private boolean hasSuperAdminAccess(User user) {
-		if (user == null || user.getRole() == null) {
-			return false;
-		}
-
-		return user.getRole().getRolePermissions().stream().filter(Objects::nonNull).map(RolePermission::getPermission)
-				.filter(Objects::nonNull).map(Permission::getName).anyMatch("super_admin_access"::equals);
-	}
-
 	@Override
+	@Transactional(readOnly = true)
 	public PaginatedResponse<UserDTO> getUsersByCompanyId(Long companyId, int pageNumber, int pageSize, Long userId,
-			String search) {
+			String search, String after, Boolean includeTotal) {
 		try {
 			if (companyId == null || companyId <= 0) {
 				logger.error("SERVICE_LOG | Invalid company ID: {}", companyId);
 				throw new BadRequestException("Invalid company ID: " + companyId);
 			}
+			if (pageNumber < 0 || pageSize <= 0) {
+				throw new BadRequestException("Invalid pagination parameters");
+			}
 
-			User actingUser = userRepository.findByIdAndDeletedAtIsNull(userId)
+			AuthPrincipal actingUser = principalResolver.resolve(userId)
 					.orElseThrow(() -> new NotFoundException("User not found: " + userId));
 
-			boolean isSuperAdmin = permissionService.hasPermission(userId, "super_admin_access");
-			boolean isAdmin = permissionService.hasPermission(userId, "admin_access");
+			boolean isSuperAdmin = actingUser.isSuperAdmin();
+			boolean isAdmin = actingUser.isAdmin();
 
 			if (!isSuperAdmin) {
-				Company userCompany = actingUser.getCompany();
-				if (userCompany == null || userCompany.getDeletedAt() != null
-						|| !userCompany.getId().equals(companyId)) {
+				if (actingUser.getCompanyId() == null || !actingUser.isCompanyActive()
+						|| !actingUser.getCompanyId().equals(companyId)) {
 					throw new UnauthorizedException("You don't have access to this company’s users.");
 				}
 
-				if (!hasPermission(actingUser, userCompany)) {
+				if (!actingUser.canManage(companyId)) {
 					throw new UnauthorizedException("You don't have permission to get the user.");
 				}
 			}
 
-			List<User> users = userRepository.findByCompanyIdAndDeletedAtIsNull(companyId);
+			String searchTerm = (search == null || search.isBlank()) ? null : search.trim();
+			boolean excludeSuperAdmins = isSuperAdmin || isAdmin;
+			PageCursor cursor = PageCursor.decode(after);
+			int page = cursor == null ? pageNumber : 0;
 
-			if (isSuperAdmin || isAdmin) {
-				users = users.stream()
-						.filter(user -> user.getRole().getRolePermissions().stream()
-								.noneMatch(role -> role.getRole().getName().equalsIgnoreCase("SUPER_ADMIN")))
-						.collect(Collectors.toList());
-			}
+			Slice<User> userSlice = userRepository.findCompanyUsersAfter(companyId, excludeSuperAdmins, searchTerm,
+					PageCursor.createdAtOf(cursor), PageCursor.idOf(cursor),
+					PageRequest.of(page, pageSize, PageCursor.SORT));
+			int total = (includeTotal != null ? includeTotal : cursor == null)
+					? (int) userRepository.countCompanyUsers(companyId, excludeSuperAdmins, searchTerm)
+					: -1;
 
-			if (search != null && !search.isBlank()) {
-				String lowerSearch = search.toLowerCase();
-				users = users.stream()
-						.filter(user -> (user.getName() != null && user.getName().toLowerCase().contains(lowerSearch))
-								|| (user.getEmail() != null && user.getEmail().toLowerCase().contains(lowerSearch)))
-						.collect(Collectors.toList());
-			}
+			List<UserDTO> dtoList = userSlice.getContent().stream().map(this::mapToDTO).collect(Collectors.toList());
 
-			int total = users.size();
-			int start = Math.min(pageNumber * pageSize, total);
-			int end = Math.min(start + pageSize, total);
-
-			List<UserDTO> dtoList = users.subList(start, end).stream().map(this::mapToDTO).collect(Collectors.toList());
-
-			return new PaginatedResponse<>(dtoList, pageNumber, pageSize, total,
-					(int) Math.ceil((double) total / pageSize));
+			return new PaginatedResponse<>(dtoList, page, pageSize, total,
+					total < 0 ? -1 : (int) Math.ceil((double) total / pageSize),
+					PageCursor.next(userSlice, User::getCreatedAt, User::getId));
 
 		} catch (BadRequestException | UnauthorizedException | NotFoundException ex) {
 			logger.error("SERVICE_LOG | Error: {}", ex.getMessage());
@@ -409,16 +518,17 @@ public class UserServiceImpl implements UserService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public PaginatedResponse<UserDTO> filterUsers(Long companyId, String status, Long roleId, LocalDateTime createdFrom,
-			LocalDateTime createdTo, int page, int size, Long userId) {
+			LocalDateTime createdTo, int page, int size, Long userId, String after, Boolean includeTotal) {
 		try {
-			User requestingUser = userRepository.findByIdAndDeletedAtIsNull(userId)
+			AuthPrincipal requestingUser = principalResolver.resolve(userId)
 					.orElseThrow(() -> new NotFoundException("Requesting user not found"));
 
-			boolean isSuperAdmin = permissionService.hasPermission(userId, "super_admin_access");
-			Long userCompanyId = requestingUser.getCompany() != null ? requestingUser.getCompany().getId() : null;
+			boolean isSuperAdmin = requestingUser.isSuperAdmin();
+			Long userCompanyId = requestingUser.getCompanyId();
 
-			if (!isSuperAdmin && !permissionService.hasPermission(userId, "admin_access")) {
+			if (!isSuperAdmin && !requestingUser.isAdmin()) {
 				throw new UnauthorizedException("User lacks permission to filter users");
 			}
 
@@ -438,17 +548,24 @@ public class UserServiceImpl implements UserService {
 				}
 			}
 
-			Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+			PageCursor cursor = PageCursor.decode(after);
+			if (cursor != null) {
+				page = 0;
+			}
+			Pageable pageable = PageRequest.of(page, size, PageCursor.SORT);
 
-			Page<User> userPage;
-			userPage = userRepository.filterUsers(companyId, normalizedStatus, roleId, createdFrom, createdTo,
-					pageable);
+			Slice<User> userSlice = userRepository.filterUsersAfter(companyId, normalizedStatus, roleId, createdFrom,
+					createdTo, PageCursor.createdAtOf(cursor), PageCursor.idOf(cursor), pageable);
+			int total = (includeTotal != null ? includeTotal : cursor == null)
+					? (int) userRepository.countFilteredUsers(companyId, normalizedStatus, roleId, createdFrom, createdTo)
+					: -1;
 
-			List<UserDTO> userDTOs = userPage.getContent().stream().map(this::mapToDTOForFilter)
+			List<UserDTO> userDTOs = userSlice.getContent().stream().map(this::mapToDTOForFilter)
 					.filter(Objects::nonNull).collect(Collectors.toList());
 
-			return new PaginatedResponse<>(userDTOs, userPage.getNumber(), userPage.getSize(),
-					(int) userPage.getTotalElements(), userPage.getTotalPages());
+			return new PaginatedResponse<>(userDTOs, page, size, total,
+					total < 0 ? -1 : (int) Math.ceil((double) total / size),
+					PageCursor.next(userSlice, User::getCreatedAt, User::getId));
 
 		} catch (UnauthorizedException | BadRequestException ex) {
 			throw ex;
@@ -465,7 +582,7 @@ public class UserServiceImpl implements UserService {
 		if (userId == null || userId <= 0 || roleId == null || roleId <= 0 || requesterId == null || requesterId <= 0) {
 			throw new BadRequestException("Invalid input parameters");
 		}
-		User requester = userRepository.findByIdAndDeletedAtIsNull(requesterId)
+		AuthPrincipal requester = principalResolver.resolve(requesterId)
 				.orElseThrow(() -> new NotFoundException("Requester user not found: " + requesterId));
 		User targetUser = userRepository.findByIdAndDeletedAtIsNull(userId)
 				.orElseThrow(() -> new NotFoundException("Target user not found: " + userId));
@@ -479,13 +596,112 @@ public class UserServiceImpl implements UserService {
 		targetUser.setUpdatedAt(LocalDateTime.now());
 
 		User updatedUser = userRepository.save(targetUser);
+		authorizationSnapshotService.evictUser(updatedUser.getId());
+		tokenRevocationService.revoke(TokenRevocation.SubjectType.USER_GRANT, updatedUser.getId(), requesterId);
 		logger.info("User {} role changed from {} to {} by {}", targetUser.getId(), oldRoleName, newRole.getName(),
 				requesterId);
 
 		return mapToDtoForRole(updatedUser);
 	}
 
+	/**
+	 * Moves a set of users to another role. The caller's rights are checked once against
+	 * the grants of the whole set, and the change is written as one UPDATE per company
+	 * (chunked for very large companies) instead of loading and saving each user.
+	 */
 	@Override
+	@Transactional
+	public BulkRoleChangeResponseDTO bulkChangeUserRole(BulkRoleChangeRequestDTO request, Long requesterId) {
+		boolean byIds = request.getUserIds() != null && !request.getUserIds().isEmpty();
+		if (byIds == (request.getSourceRoleId() != null)) {
+			throw new BadRequestException("Provide either userIds or sourceRoleId");
+		}
+		AuthPrincipal requester = principalResolver.resolve(requesterId)
+				.orElseThrow(() -> new NotFoundException("Requester user not found: " + requesterId));
+		if (!requester.isSuperAdmin() && !requester.isAdmin()) {
+			throw new UnauthorizedException("Insufficient permissions to change user roles");
+		}
+		Role newRole = roleRepository.findByIdAndDeletedAtIsNull(request.getTargetRoleId())
+				.orElseThrow(() -> new NotFoundException("Role not found: " + request.getTargetRoleId()));
+
+		try {
+			List<UserRepository.GrantView> targets;
+			List<Long> notFound = new ArrayList<>();
+			if (byIds) {
+				Set<Long> requested = new HashSet<>(request.getUserIds());
+				requested.remove(null);
+				targets = userRepository.findGrantsByIdIn(requested);
+				Set<Long> found = targets.stream().map(UserRepository.GrantView::getUserId).collect(Collectors.toSet());
+				requested.stream().filter(id -> !found.contains(id)).sorted().forEach(notFound::add);
+			} else {
+				// An Admin moving "everyone with role X" means everyone in their own company
+				Long scope = requester.isSuperAdmin() ? null : requester.getCompanyId();
+				targets = userRepository.findGrantsByRoleId(request.getSourceRoleId(), scope);
+			}
+
+			validateBulkRoleChange(requester, targets, newRole);
+
+			Map<Long, List<Long>> byCompany = targets.stream()
+					.filter(grant -> !newRole.getId().equals(grant.getRoleId()))
+					.collect(Collectors.groupingBy(UserRepository.GrantView::getCompanyId, TreeMap::new,
+							Collectors.mapping(UserRepository.GrantView::getUserId, Collectors.toList())));
+
+			LocalDateTime now = LocalDateTime.now();
+			Map<Long, Integer> updatedByCompany = new TreeMap<>();
+			int updated = 0;
+			for (Map.Entry<Long, List<Long>> entry : byCompany.entrySet()) {
+				List<Long> ids = entry.getValue();
+				int companyUpdated = 0;
+				for (int from = 0; from < ids.size(); from += ROLE_UPDATE_CHUNK) {
+					companyUpdated += userRepository.updateRoleForCompanyUsers(newRole, entry.getKey(),
+							ids.subList(from, Math.min(from + ROLE_UPDATE_CHUNK, ids.size())), requesterId, now);
+				}
+				authorizationSnapshotService.evictUsers(ids);
+				tokenRevocationService.revoke(TokenRevocation.SubjectType.USER_GRANT, ids, requesterId);
+				updatedByCompany.put(entry.getKey(), companyUpdated);
+				updated += companyUpdated;
+			}
+
+			logger.info("TRACE_LOG | Action=BULK_CHANGE_ROLE | TargetRoleId={} | Matched={} | Updated={} | UserId={}",
+					newRole.getId(), targets.size(), updated, requesterId);
+			return new BulkRoleChangeResponseDTO(newRole.getId(), targets.size(), updated, targets.size() - updated,
+					notFound, updatedByCompany);
+		} catch (DataAccessException ex) {
+			logger.error("SERVICE_LOG | Database error during bulk role change: {}", ex.getMessage());
+			throw new InternalServerException("Database error while changing user roles");
+		}
+	}
+
+	/**
+	 * The bulk form of {@link #validateRoleChangePermission}: an Admin may only move users
+	 * of their own company, may not hand out DEFAULT roles and may not move other Admins.
+	 * One offending user rejects the whole request.
+	 */
+	private void validateBulkRoleChange(AuthPrincipal requester, List<UserRepository.GrantView> targets,
+			Role newRole) {
+		if (requester.isSuperAdmin()) {
+			return;
+		}
+		if (requester.getCompanyId() == null) {
+			throw new UnauthorizedException("Insufficient permissions to change user roles");
+		}
+		if (newRole.getType() == Role.Type.DEFAULT) {
+			throw new UnauthorizedException("Admin cannot assign DEFAULT roles");
+		}
+		AuthorizationSnapshot snapshot = authorizationSnapshotService.snapshot();
+		for (UserRepository.GrantView target : targets) {
+			if (!requester.getCompanyId().equals(target.getCompanyId())) {
+				throw new UnauthorizedException("Admin can only change roles within their own company");
+			}
+			if (!requester.getUserId().equals(target.getUserId())
+					&& snapshot.roleHas(target.getRoleId(), AccessPolicy.ADMIN_ACCESS)) {
+				throw new UnauthorizedException("Admin cannot change other Admins' roles");
+			}
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
 	public PaginatedResponse<UserDTO> getAllUsers(int page, int size, Long userId, String search) {
 		try {
 			log.info("Fetching users with search='{}', page={}, size={}, requested by userId={}", search, page, size, userId);
@@ -494,60 +710,50 @@ public class UserServiceImpl implements UserService {
 				throw new BadRequestException("Invalid pagination parameters");
 			}
 
-			User actingUser = userRepository.findByIdAndDeletedAtIsNull(userId)
+			AuthPrincipal actingUser = principalResolver.resolve(userId)
 					.orElseThrow(() -> new NotFoundException("User not found"));
 
-			List<User> filteredUsers;
-
 			// Get role name
-			String roleName = actingUser.getRole() != null ? actingUser.getRole().getName() : null;
+			String roleName = actingUser.getRoleName();
 			log.debug("Acting user {} has role: {}", userId, roleName);
 
 			boolean hasFullAccess = roleName != null && (roleName.equals("SUPER_ADMIN") || roleName.equals("HTI_ACCESS"));
 
+			Long companyId = null;
+			String excludedRole = null;
 			if (hasFullAccess) {
 				// SUPER_ADMIN, ADMIN, or HTI_ACCESS can see all users (except other super admins)
 				log.info("User {} has {} access. Fetching all non-super-admin users.", userId, roleName);
-				filteredUsers = userRepository.findAllNonSuperAdminUsers();
+				excludedRole = "SUPER_ADMIN";
 			} else {
 				// Other roles: only see users in their own company
-				Company company = actingUser.getCompany();
-				if (company == null || company.getDeletedAt() != null) {
+				companyId = actingUser.getCompanyId();
+				if (companyId == null || !actingUser.isCompanyActive()) {
 					log.warn("User {} does not belong to a valid company.", userId);
 					throw new NotFoundException("Acting user has no valid company.");
 				}
 
-				if (!hasViewPermission(actingUser, company)) {
-					log.warn("User {} attempted unauthorized access to company {}", userId, company.getId());
+				if (!actingUser.canView(companyId)) {
+					log.warn("User {} attempted unauthorized access to company {}", userId, companyId);
 					throw new UnauthorizedException("You don't have permission to view users in this company.");
 				}
 
-				log.debug("User {} is allowed to fetch users from company {}", userId, company.getId());
-				filteredUsers = userRepository.findByDeletedAtIsNullAndCompanyId(company.getId());
-			}
-
-			// Apply search filter
-			if (search != null && !search.isBlank()) {
-				String lowerSearch = search.toLowerCase();
-				filteredUsers = filteredUsers.stream()
-						.filter(user -> (user.getName() != null && user.getName().toLowerCase().contains(lowerSearch))
-								|| (user.getEmail() != null && user.getEmail().toLowerCase().contains(lowerSearch)))
-						.collect(Collectors.toList());
-				log.debug("Filtered users count after search='{}': {}", search, filteredUsers.size());
+				log.debug("User {} is allowed to fetch users from company {}", userId, companyId);
 			}
 
-			// Pagination
-			int total = filteredUsers.size();
-			int start = Math.min(page * size, total);
-			int end = Math.min(start + size, total);
+			// Search, role exclusion and paging all run in the database
+			String searchTerm = (search == null || search.isBlank()) ? null : search.trim();
+			Page<User> userPage = userRepository.searchUsers(companyId, excludedRole, searchTerm,
+					PageRequest.of(page, size, Sort.by("id")));
 
-			List<UserDTO> pagedUserDTOs = filteredUsers.subList(start, end).stream()
+			List<UserDTO> pagedUserDTOs = userPage.getContent().stream()
 					.map(this::mapToDTO)
 					.collect(Collectors.toList());
+			int total = (int) userPage.getTotalElements();
 
 			log.info("Returning {} users for page={} size={}, total matches={}", pagedUserDTOs.size(), page, size, total);
 
-			return new PaginatedResponse<>(pagedUserDTOs, page, size, total, (int) Math.ceil((double) total / size));
+			return new PaginatedResponse<>(pagedUserDTOs, page, size, total, userPage.getTotalPages());
 
 		} catch (NotFoundException | UnauthorizedException | BadRequestException ex) {
 			log.warn("BUSINESS_EXCEPTION | {}", ex.getMessage());
@@ -559,14 +765,14 @@ public class UserServiceImpl implements UserService {
 			MDC.clear();
 		}
 	}
-	private void validateRoleChangePermission(User requester, User targetUser, Role newRole) {
-		if (hasSuperAdminPermission(requester)) {
+	private void validateRoleChangePermission(AuthPrincipal requester, User targetUser, Role newRole) {
+		if (requester.isSuperAdmin()) {
 			return;
 		}
 
-		if (hasAdminPermission(requester)) {
+		if (requester.isAdmin() && requester.getCompanyId() != null) {
 
-			if (!requester.getCompany().getId().equals(targetUser.getCompany().getId())) {
+			if (!requester.getCompanyId().equals(targetUser.getCompany().getId())) {
 				throw new UnauthorizedException("Admin can only change roles within their own company");
 			}
 
@@ -574,7 +780,7 @@ public class UserServiceImpl implements UserService {
 				throw new UnauthorizedException("Admin cannot assign DEFAULT roles");
 			}
 
-			if (hasAdminPermission(targetUser) && !requester.getId().equals(targetUser.getId())) {
+			if (hasAdminPermission(targetUser) && !requester.getUserId().equals(targetUser.getId())) {
 				throw new UnauthorizedException("Admin cannot change other Admins' roles");
 			}
 			return;
@@ -583,22 +789,9 @@ public class UserServiceImpl implements UserService {
 		throw new UnauthorizedException("Insufficient permissions to change user roles");
 	}
 
-	private boolean hasSuperAdminPermission(User user) {
-		return getPermissions(user).contains("super_admin_access");
-	}
-
 	private boolean hasAdminPermission(User user) {
-		return getPermissions(user).contains("admin_access") && user.getCompany() != null;
-	}
-
-	private Set<String> getPermissions(User user) {
-		if (user == null || user.getRole() == null) {
-			return Collections.emptySet();
-		}
-
-		return Optional.ofNullable(user.getRole().getRolePermissions()).orElse(Collections.emptySet()).stream()
-				.filter(Objects::nonNull).map(RolePermission::getPermission).filter(Objects::nonNull)
-				.map(Permission::getName).filter(Objects::nonNull).collect(Collectors.toSet());
+		return user != null && user.getRole() != null && user.getCompany() != null
+				&& authorizationSnapshotService.snapshot().roleHas(user.getRole().getId(), AccessPolicy.ADMIN_ACCESS);
 	}
 
 	private UserDTO mapToDtoForRole(User user) {
@@ -640,7 +833,8 @@ public class UserServiceImpl implements UserService {
 	public Map<String, Object> verifyUserToken(String authToken) {
 		Map<String, Object> response = new HashMap<>();
 
-		Optional<User> optionalUser = userRepository.findByAuthTokenAndDeletedAtIsNull(authToken);
+		Optional<User> optionalUser = validationTokenService.findUserId(authToken)
+				.flatMap(userRepository::findByIdAndDeletedAtIsNull);
 
 		if (optionalUser.isPresent()) {
 			User user = optionalUser.get();
@@ -656,8 +850,10 @@ public class UserServiceImpl implements UserService {
 	}
 
 	@Override
+	@Transactional
 	public Map<String, Object> assignPassword(String authToken, Long userId, String password) {
-		Optional<User> optionalUser = userRepository.findByAuthTokenAndDeletedAtIsNull(authToken);
+		Optional<User> optionalUser = validationTokenService.findUserId(authToken)
+				.flatMap(userRepository::findByIdAndDeletedAtIsNull);
 
 		if (optionalUser.isEmpty()) {
 			throw new UnauthorizedException("Invalid or expired token");
@@ -673,19 +869,15 @@ public class UserServiceImpl implements UserService {
 			throw new UnauthorizedException("User is not in a valid state to set password");
 		}
 
-		user.setPassword(passwordEncoder.encode(password));
+		// Hashed on the bounded BCrypt pool; fails fast with 503 when it is saturated
+		user.setPassword(passwordHasher.encode(password));
 		user.setStatus(User.Status.ACTIVE);
-		user.setAuthToken(null);
 		user.setPasswordChanged(true);
 		user.setUpdatedAt(LocalDateTime.now());
 
 		userRepository.save(user);
-
-		try {
-			emailService.sendWelcomeEmail(user.getEmail(), user.getName());
-		} catch (EmailSendingException e) {
-			logger.error("Welcome email failed: {}", e.getMessage());
-		}
+		validationTokenService.consume(authToken, user.getId());
+		emailOutboxService.enqueueWelcome(user);
 
 		Map<String, Object> response = new HashMap<>();
 		response.put("status", true);
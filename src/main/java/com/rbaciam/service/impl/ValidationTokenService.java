@@ -0,0 +1,190 @@
+package com.rbaciam.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rbaciam.entity.User;
+import com.rbaciam.entity.ValidationToken;
+import com.rbaciam.repository.BatchInsertRepository;
+import com.rbaciam.repository.UserRepository;
+import com.rbaciam.repository.ValidationTokenRepository;
+
+/**
+ * Issues and checks the email validation tokens sent to new users. Tokens are random
+ * 256-bit values; only their SHA-256 is stored, so a lookup is a unique-index probe on a
+ * fixed-length key. Tokens that failed a lookup are remembered in a bounded in-memory
+ * cache, so repeated guesses or replays of a used link never reach the database.
+ */
+@Component
+public class ValidationTokenService {
+	/** Accepts current tokens (43 base64url chars) and legacy UUIDs. */
+	private static final Pattern TOKEN_FORMAT = Pattern.compile("[A-Za-z0-9_-]{32,64}");
+	private static final int MIGRATION_CHUNK = 500;
+
+	private final ValidationTokenRepository validationTokenRepository;
+	private final BatchInsertRepository batchInsertRepository;
+	private final UserRepository userRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final Duration ttl;
+	private final Cache<String, Boolean> invalidTokens;
+	private final SecureRandom random = new SecureRandom();
+
+	private static final Logger logger = LoggerFactory.getLogger("TraceLogger");
+
+	public ValidationTokenService(ValidationTokenRepository validationTokenRepository,
+			BatchInsertRepository batchInsertRepository, UserRepository userRepository,
+			TransactionTemplate transactionTemplate,
+			@Value("${app.validation-token.ttl:7d}") Duration ttl,
+			@Value("${app.validation-token.negative-cache.max-size:100000}") long negativeCacheSize,
+			@Value("${app.validation-token.negative-cache.ttl:15m}") Duration negativeCacheTtl) {
+		this.validationTokenRepository = validationTokenRepository;
+		this.batchInsertRepository = batchInsertRepository;
+		this.userRepository = userRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.ttl = ttl;
+		this.invalidTokens = Caffeine.newBuilder()
+				.maximumSize(negativeCacheSize)
+				.expireAfterWrite(negativeCacheTtl)
+				.build();
+	}
+
+	/** Creates a token for the user and returns it; the user must already have an id. */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public String issue(User user) {
+		String token = newToken();
+		LocalDateTime now = LocalDateTime.now();
+		validationTokenRepository.save(new ValidationToken(hash(token), user.getId(), now.plus(ttl), now));
+		return token;
+	}
+
+	/** Creates one token per user with batched inserts and returns them by user id. */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public Map<Long, String> issueAll(List<User> users) {
+		LocalDateTime now = LocalDateTime.now();
+		Map<Long, String> tokens = new HashMap<>();
+		List<ValidationToken> rows = new ArrayList<>(users.size());
+		for (User user : users) {
+			String token = newToken();
+			tokens.put(user.getId(), token);
+			rows.add(new ValidationToken(hash(token), user.getId(), now.plus(ttl), now));
+		}
+		batchInsertRepository.insertValidationTokens(rows);
+		return tokens;
+	}
+
+	/** The user a valid, unexpired token belongs to. */
+	public Optional<Long> findUserId(String token) {
+		if (token == null || !TOKEN_FORMAT.matcher(token).matches()) {
+			return Optional.empty();
+		}
+		String tokenHash = hash(token);
+		if (invalidTokens.getIfPresent(tokenHash) != null) {
+			return Optional.empty();
+		}
+		Optional<Long> userId = validationTokenRepository.findByTokenHash(tokenHash)
+				.filter(row -> row.getExpiresAt().isAfter(LocalDateTime.now()))
+				.map(ValidationToken::getUserId);
+		if (userId.isEmpty()) {
+			invalidTokens.put(tokenHash, Boolean.TRUE);
+		}
+		return userId;
+	}
+
+	/** Deletes the user's tokens once one has been used, and remembers it as spent. */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void consume(String token, Long userId) {
+		validationTokenRepository.deleteByUserId(userId);
+		invalidTokens.put(hash(token), Boolean.TRUE);
+	}
+
+	@Scheduled(cron = "${app.validation-token.purge-cron:0 15 * * * *}")
+	public void purgeExpired() {
+		try {
+			int purged = validationTokenRepository.deleteExpired(LocalDateTime.now());
+			logger.info("TRACE_LOG | Action=PURGE_VALIDATION_TOKENS | Purged={}", purged);
+		} catch (DataAccessException ex) {
+			logger.error("SERVICE_LOG | Could not purge validation tokens: {}", ex.getMessage());
+		}
+	}
+
+	/**
+	 * Moves plaintext tokens left in {@code users.auth_token} into the token table, hashed,
+	 * and clears the column. Runs at startup and is a no-op once nothing is left.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void migrateLegacyTokens() {
+		int migrated = 0;
+		try {
+			while (true) {
+				Integer moved = transactionTemplate.execute(status -> {
+					List<UserRepository.LegacyTokenView> rows = userRepository
+							.findLegacyAuthTokens(PageRequest.of(0, MIGRATION_CHUNK));
+					if (rows.isEmpty()) {
+						return 0;
+					}
+					LocalDateTime now = LocalDateTime.now();
+					batchInsertRepository.insertValidationTokens(rows.stream()
+							.filter(row -> Boolean.TRUE.equals(row.getPending()))
+							.map(row -> new ValidationToken(hash(row.getAuthToken()), row.getUserId(),
+									now.plus(ttl), now))
+							.toList());
+					userRepository.clearAuthTokens(rows.stream().map(UserRepository.LegacyTokenView::getUserId)
+							.toList());
+					return rows.size();
+				});
+				if (moved == null || moved == 0) {
+					break;
+				}
+				migrated += moved;
+			}
+		} catch (DataAccessException ex) {
+			logger.error("SERVICE_LOG | Validation token migration stopped after {} users: {}", migrated,
+					ex.getMessage());
+		}
+		if (migrated > 0) {
+			logger.info("TRACE_LOG | Action=MIGRATE_VALIDATION_TOKENS | Users={}", migrated);
+		}
+	}
+
+	private String newToken() {
+		byte[] bytes = new byte[32];
+		random.nextBytes(bytes);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+
+	static String hash(String token) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest);
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
+	}
+}
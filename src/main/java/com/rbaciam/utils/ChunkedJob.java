@@ -0,0 +1,50 @@
+package com.rbaciam.utils;
+
+import java.time.Duration;
+
+/**
+ * Runs a background job in bounded chunks with a pause between them, so each chunk's
+ * transaction stays short and the job leaves room for regular traffic.
+ */
+public final class ChunkedJob {
+
+	/** One chunk of work. */
+	@FunctionalInterface
+	public interface Chunk {
+		/** Processes the next chunk; returns false once there is nothing left to do. */
+		boolean process();
+	}
+
+	private ChunkedJob() {
+	}
+
+	/**
+	 * Runs chunks until one reports nothing left, {@code maxChunks} have run or the
+	 * thread is interrupted during a pause. Exceptions from a chunk end the run and
+	 * propagate.
+	 */
+	public static void run(int maxChunks, Duration pause, Chunk chunk) {
+		for (int i = 0; i < maxChunks; i++) {
+			if (!chunk.process() || !pause(pause)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Sleeps for {@code pause}; a zero or negative pause returns at once. Returns false,
+	 * with the interrupt flag restored, if the thread was interrupted.
+	 */
+	public static boolean pause(Duration pause) {
+		if (pause.isZero() || pause.isNegative()) {
+			return true;
+		}
+		try {
+			Thread.sleep(pause.toMillis());
+			return true;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+}
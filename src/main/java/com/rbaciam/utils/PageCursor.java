@@ -0,0 +1,92 @@
+package com.rbaciam.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import com.rbaciam.exception.BadRequestException;
+
+/**
+ * Opaque keyset position for the list endpoints that order by {@code createdAt} descending,
+ * then {@code id} descending.
+ *
+ * A cursor names the last row of the previous page, and the next page continues strictly
+ * after it. The database seeks on (created_at, id) instead of reading and discarding
+ * OFFSET rows. Rows with no {@code createdAt} sort last, as MySQL orders NULLs in a
+ * descending sort.
+ */
+public final class PageCursor {
+
+	/** Sort order every cursor-capable listing uses, in both offset and cursor mode. */
+	public static final Sort SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+	private static final String NO_TIMESTAMP = "-";
+
+	private final LocalDateTime createdAt;
+	private final Long id;
+
+	public PageCursor(LocalDateTime createdAt, Long id) {
+		this.createdAt = createdAt;
+		this.id = id;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String encode() {
+		String raw = (createdAt == null ? NO_TIMESTAMP : createdAt.toString()) + "|" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodes a token produced by {@link #encode()}. Returns null for a missing token.
+	 */
+	public static PageCursor decode(String token) {
+		if (token == null || token.isBlank()) {
+			return null;
+		}
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+			int separator = raw.lastIndexOf('|');
+			if (separator < 0) {
+				throw new BadRequestException("Invalid cursor: " + token);
+			}
+			String timestamp = raw.substring(0, separator);
+			Long id = Long.valueOf(raw.substring(separator + 1));
+			return new PageCursor(NO_TIMESTAMP.equals(timestamp) ? null : LocalDateTime.parse(timestamp), id);
+		} catch (IllegalArgumentException | DateTimeParseException ex) {
+			throw new BadRequestException("Invalid cursor: " + token);
+		}
+	}
+
+	public static LocalDateTime createdAtOf(PageCursor cursor) {
+		return cursor == null ? null : cursor.getCreatedAt();
+	}
+
+	public static Long idOf(PageCursor cursor) {
+		return cursor == null ? null : cursor.getId();
+	}
+
+	/**
+	 * Cursor pointing after the last row of the slice, or null when there is no next page.
+	 */
+	public static <E> String next(Slice<E> slice, Function<E, LocalDateTime> createdAt, Function<E, Long> id) {
+		List<E> content = slice.getContent();
+		if (!slice.hasNext() || content.isEmpty()) {
+			return null;
+		}
+		E last = content.get(content.size() - 1);
+		return new PageCursor(createdAt.apply(last), id.apply(last)).encode();
+	}
+}
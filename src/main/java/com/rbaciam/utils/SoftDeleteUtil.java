@@ -18,6 +18,14 @@ public class SoftDeleteUtil {
         return deletedAt != null;
     }
 
+    /**
+     * Returns the archival cutoff: a row is moved out of the primary tables once it
+     * {@link #isDeleted is deleted} with a deletedAt before this instant.
+     */
+    public static LocalDateTime archiveCutoff(int retentionDays) {
+        return now().minusDays(retentionDays);
+    }
+
     /**
      * Returns the current timestamp to mark as deleted.
      */
@@ -0,0 +1,139 @@
+package com.rbaciam.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.rbaciam.security.AuthPrincipal;
+import com.rbaciam.security.SecurityFixtures;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReadWriteRoutingDataSourceTest {
+	private static final String SERVICE_READ = "com.rbaciam.service.impl.UserServiceImpl.filterUsers";
+	private static final String REPOSITORY_READ = "org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById";
+
+	private final DataSource primary = mock(DataSource.class);
+	private final HikariDataSource replica1 = replica("replica-1");
+	private final HikariDataSource replica2 = replica("replica-2");
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary,
+			List.of(replica1, replica2), Duration.ofSeconds(5), 1000, meterRegistry);
+
+	@BeforeEach
+	void setUp() {
+		routing.afterPropertiesSet();
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.clear();
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void noTransactionGoesToPrimary() {
+		TransactionSynchronizationManager.clearSynchronization();
+
+		assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+	}
+
+	@Test
+	void readWriteTransactionGoesToPrimary() {
+		transaction(SERVICE_READ, false);
+
+		assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+	}
+
+	@Test
+	void readOnlyServiceTransactionsAlternateBetweenReplicas() {
+		transaction(SERVICE_READ, true);
+
+		assertThat(List.of(routing.determineCurrentLookupKey(), routing.determineCurrentLookupKey(),
+				routing.determineCurrentLookupKey())).containsExactly("replica-1", "replica-2", "replica-1");
+	}
+
+	@Test
+	void repositoryDefaultTransactionsStayOnPrimary() {
+		transaction(REPOSITORY_READ, true);
+
+		assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+	}
+
+	@Test
+	void recentWriterReadsFromPrimaryOthersFromReplica() {
+		caller(7L);
+		routing.afterCommit(execution(false), null);
+		transaction(SERVICE_READ, true);
+
+		assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+
+		caller(8L);
+		assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica-1");
+	}
+
+	@Test
+	void readOnlyOrFailedCommitsDoNotMakeTheCallerSticky() {
+		caller(7L);
+		routing.afterCommit(execution(true), null);
+		routing.afterCommit(execution(false), new IllegalStateException("commit failed"));
+		transaction(SERVICE_READ, true);
+
+		assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica-1");
+	}
+
+	@Test
+	void unavailableReplicaFallsBackToPrimary() throws SQLException {
+		Connection connection = mock(Connection.class);
+		when(replica1.getConnection()).thenThrow(new SQLException("Connection refused"));
+		when(primary.getConnection()).thenReturn(connection);
+		transaction(SERVICE_READ, true);
+
+		assertThat(routing.getConnection()).isSameAs(connection);
+		assertThat(meterRegistry.get("datasource.routing").tag("reason", "replica_unavailable").counter().count())
+				.isEqualTo(1.0);
+	}
+
+	private static void transaction(String name, boolean readOnly) {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.setCurrentTransactionName(name);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+	}
+
+	private static void caller(Long userId) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setAttribute(AuthPrincipal.REQUEST_ATTRIBUTE, SecurityFixtures.principal(userId,
+				SecurityFixtures.USER_ROLE, 1L, SecurityFixtures.snapshot()));
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	private static TransactionExecution execution(boolean readOnly) {
+		TransactionExecution execution = mock(TransactionExecution.class);
+		when(execution.isReadOnly()).thenReturn(readOnly);
+		return execution;
+	}
+
+	private static HikariDataSource replica(String poolName) {
+		HikariDataSource replica = mock(HikariDataSource.class);
+		when(replica.getPoolName()).thenReturn(poolName);
+		return replica;
+	}
+}
@@ -0,0 +1,183 @@
+package com.rbaciam.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rbaciam.entity.TokenRevocation.SubjectType;
+
+class AccessTokenServiceTest {
+	private static final String SECRET = "0123456789abcdef0123456789abcdef";
+	private static final Long USER_ID = 3L;
+	private static final Long COMPANY_ID = 10L;
+
+	private final AuthorizationSnapshot snapshot = SecurityFixtures.snapshot();
+	private final AuthorizationSnapshotService snapshotService = mock(AuthorizationSnapshotService.class);
+	private final TokenRevocationService revocations = mock(TokenRevocationService.class);
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final AccessTokenService tokens = service(SECRET, Duration.ofMinutes(5), "rbac-iam");
+	private final AuthPrincipal admin = SecurityFixtures.principal(USER_ID, SecurityFixtures.ADMIN_ROLE, COMPANY_ID,
+			snapshot);
+
+	AccessTokenServiceTest() {
+		when(snapshotService.snapshot()).thenReturn(snapshot);
+	}
+
+	@Test
+	void accessTokenRoundTripsThePrincipalWithoutDatabase() {
+		AuthPrincipal verified = tokens.verifyAccess(tokens.issue(admin).getAccessToken()).orElseThrow();
+
+		assertThat(verified.getUserId()).isEqualTo(USER_ID);
+		assertThat(verified.getCompanyId()).isEqualTo(COMPANY_ID);
+		assertThat(verified.getRoleName()).isEqualTo("ADMIN");
+		assertThat(verified.isAdmin()).isTrue();
+		assertThat(verified.isSuperAdmin()).isFalse();
+		assertThat(verified.hasPermission(SecurityFixtures.VIEW_REPORTS)).isTrue();
+		assertThat(verified.canManage(COMPANY_ID)).isTrue();
+		assertThat(verified.canManage(COMPANY_ID + 1)).isFalse();
+		verify(snapshotService, never()).findUser(anyLong());
+	}
+
+	@Test
+	void refreshTokenNamesItsUser() {
+		AccessTokenService.TokenPair pair = tokens.issue(admin);
+
+		assertThat(tokens.verifyRefresh(pair.getRefreshToken())).contains(USER_ID);
+		assertThat(pair.getExpiresIn()).isEqualTo(300);
+	}
+
+	@Test
+	void tokenTypesAreNotInterchangeable() {
+		AccessTokenService.TokenPair pair = tokens.issue(admin);
+
+		assertThat(tokens.verifyAccess(pair.getRefreshToken())).isEmpty();
+		assertThat(tokens.verifyRefresh(pair.getAccessToken())).isEmpty();
+	}
+
+	@Test
+	void tamperedPayloadOrSignatureIsRejected() {
+		String token = tokens.issue(admin).getAccessToken();
+		String[] parts = token.split("\\.");
+		Map<String, Object> claims = decode(parts[1]);
+		claims.put("rid", SecurityFixtures.SUPER_ADMIN_ROLE);
+		String elevated = parts[0] + "." + encode(claims) + "." + parts[2];
+		String badSignature = parts[0] + "." + parts[1] + "." + parts[2].substring(0, parts[2].length() - 4) + "AAAA";
+
+		assertThat(tokens.verifyAccess(elevated)).isEmpty();
+		assertThat(tokens.verifyAccess(badSignature)).isEmpty();
+		assertThat(tokens.verifyAccess(parts[0] + "." + parts[1])).isEmpty();
+		assertThat(tokens.verifyAccess("not-a-token")).isEmpty();
+		assertThat(tokens.verifyAccess(null)).isEmpty();
+	}
+
+	@Test
+	void tokenFromAnotherKeyOrIssuerIsRejected() {
+		String otherKey = service("fedcba9876543210fedcba9876543210", Duration.ofMinutes(5), "rbac-iam").issue(admin)
+				.getAccessToken();
+		String otherIssuer = service(SECRET, Duration.ofMinutes(5), "someone-else").issue(admin).getAccessToken();
+
+		assertThat(tokens.verifyAccess(otherKey)).isEmpty();
+		assertThat(tokens.verifyAccess(otherIssuer)).isEmpty();
+	}
+
+	@Test
+	void expiredTokenIsRejected() {
+		String expired = service(SECRET, Duration.ofSeconds(-1), "rbac-iam").issue(admin).getAccessToken();
+
+		assertThat(tokens.verifyAccess(expired)).isEmpty();
+	}
+
+	@Test
+	void onlyTheFixedHs256HeaderIsAccepted() {
+		String[] parts = tokens.issue(admin).getAccessToken().split("\\.");
+		String none = base64("{\"alg\":\"none\",\"typ\":\"JWT\"}") + "." + parts[1] + ".";
+		String withKid = base64("{\"alg\":\"HS256\",\"typ\":\"JWT\",\"kid\":\"other\"}") + "." + parts[1] + "."
+				+ parts[2];
+		String hs512 = base64("{\"alg\":\"HS512\",\"typ\":\"JWT\"}") + "." + parts[1] + "." + parts[2];
+
+		assertThat(tokens.verifyAccess(none)).isEmpty();
+		assertThat(tokens.verifyAccess(withKid)).isEmpty();
+		assertThat(tokens.verifyAccess(hs512)).isEmpty();
+	}
+
+	@Test
+	void revokedUserOrCompanyIsRejected() {
+		String token = tokens.issue(admin).getAccessToken();
+		when(revocations.isRevoked(eq(SubjectType.USER), eq(USER_ID), anyLong())).thenReturn(true);
+
+		assertThat(tokens.verifyAccess(token)).isEmpty();
+		assertThat(tokens.verifyRefresh(tokens.issue(admin).getRefreshToken())).isEmpty();
+
+		when(revocations.isRevoked(eq(SubjectType.USER), eq(USER_ID), anyLong())).thenReturn(false);
+		when(revocations.isRevoked(eq(SubjectType.COMPANY), eq(COMPANY_ID), anyLong())).thenReturn(true);
+		assertThat(tokens.verifyAccess(token)).isEmpty();
+	}
+
+	@Test
+	void staleGrantIsResolvedAgain() {
+		String token = tokens.issue(admin).getAccessToken();
+		when(revocations.isRevoked(eq(SubjectType.USER_GRANT), eq(USER_ID), anyLong())).thenReturn(true);
+		when(snapshotService.findUser(USER_ID))
+				.thenReturn(Optional.of(SecurityFixtures.grant(USER_ID, SecurityFixtures.USER_ROLE, COMPANY_ID)));
+
+		AuthPrincipal verified = tokens.verifyAccess(token).orElseThrow();
+
+		assertThat(verified.getRoleId()).isEqualTo(SecurityFixtures.USER_ROLE);
+		assertThat(verified.isAdmin()).isFalse();
+	}
+
+	@Test
+	void shortSecretIsRefused() {
+		assertThatThrownBy(() -> service("too-short", Duration.ofMinutes(5), "rbac-iam"))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void permissionBitsRoundTrip() {
+		long[] bits = AuthorizationSnapshot.set(AuthorizationSnapshot.set(new long[0], 3), 130);
+
+		assertThat(AccessTokenService.decodeBits(AccessTokenService.encodeBits(bits))).containsExactly(bits);
+		assertThat(AccessTokenService.decodeBits(AccessTokenService.encodeBits(new long[2]))).isEmpty();
+	}
+
+	private AccessTokenService service(String secret, Duration accessTtl, String issuer) {
+		return new AccessTokenService(snapshotService, revocations, objectMapper, secret, accessTtl,
+				Duration.ofDays(7), issuer);
+	}
+
+	private Map<String, Object> decode(String part) {
+		try {
+			@SuppressWarnings("unchecked")
+			Map<String, Object> claims = objectMapper.readValue(Base64.getUrlDecoder().decode(part), Map.class);
+			return claims;
+		} catch (java.io.IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private String encode(Map<String, Object> claims) {
+		try {
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(claims));
+		} catch (java.io.IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static String base64(String json) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+	}
+}
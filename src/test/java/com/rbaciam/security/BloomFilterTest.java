@@ -0,0 +1,57 @@
+package com.rbaciam.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+	@Test
+	void addedKeysAreAlwaysFound() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (long id = 1; id <= 10_000; id++) {
+			filter.add((id << 2) | (id % 4));
+		}
+
+		for (long id = 1; id <= 10_000; id++) {
+			assertThat(filter.mightContain((id << 2) | (id % 4))).isTrue();
+		}
+	}
+
+	@Test
+	void falsePositivesStayNearTheConfiguredRate() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (long key = 0; key < 10_000; key++) {
+			filter.add(key);
+		}
+
+		int falsePositives = 0;
+		for (long key = 1_000_000; key < 1_100_000; key++) {
+			if (filter.mightContain(key)) {
+				falsePositives++;
+			}
+		}
+
+		assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+	}
+
+	@Test
+	void sizedForExpectedEntriesAndRate() {
+		BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+		// m = -n ln p / ln^2 2, k = m / n ln 2
+		assertThat(filter.bits()).isEqualTo(9_586);
+		assertThat(filter.hashes()).isEqualTo(7);
+	}
+
+	@Test
+	void tinyFiltersKeepAMinimumSize() {
+		BloomFilter filter = new BloomFilter(0, 0.5);
+
+		assertThat(filter.bits()).isEqualTo(Long.SIZE);
+		assertThat(filter.hashes()).isGreaterThanOrEqualTo(1);
+		assertThat(filter.mightContain(42)).isFalse();
+		filter.add(42);
+		assertThat(filter.mightContain(42)).isTrue();
+	}
+}
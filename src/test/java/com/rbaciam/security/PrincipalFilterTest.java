@@ -0,0 +1,135 @@
+package com.rbaciam.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+class PrincipalFilterTest {
+	private static final String SECRET = "0123456789abcdef0123456789abcdef";
+	private static final Long USER_ID = 3L;
+
+	private final AuthorizationSnapshot snapshot = SecurityFixtures.snapshot();
+	private final AuthorizationSnapshotService snapshotService = mock(AuthorizationSnapshotService.class);
+	private final TokenRevocationService revocations = mock(TokenRevocationService.class);
+	private final PrincipalResolver principalResolver = mock(PrincipalResolver.class);
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+	private final AccessTokenService tokens = tokenService(Duration.ofMinutes(5));
+	private final AuthPrincipal principal = SecurityFixtures.principal(USER_ID, SecurityFixtures.USER_ROLE, 1L,
+			snapshot);
+
+	PrincipalFilterTest() {
+		when(snapshotService.snapshot()).thenReturn(snapshot);
+	}
+
+	@Test
+	void validTokenBecomesThePrincipalAndPinsCallerHeaders() throws Exception {
+		MockHttpServletRequest request = request("/api/users/5", tokens.issue(principal).getAccessToken());
+		request.addHeader(PrincipalFilter.USER_ID_HEADER, "1");
+		MockFilterChain chain = new MockFilterChain();
+
+		MockHttpServletResponse response = filter(request, chain, false);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(request.getAttribute(AuthPrincipal.REQUEST_ATTRIBUTE)).isInstanceOfSatisfying(AuthPrincipal.class,
+				resolved -> assertThat(resolved.getUserId()).isEqualTo(USER_ID));
+		assertThat(((HttpServletRequest) chain.getRequest())
+				.getHeader(PrincipalFilter.USER_ID_HEADER)).isEqualTo("3");
+		assertThat(((HttpServletRequest) chain.getRequest())
+				.getHeader(PrincipalFilter.REQUESTER_ID_HEADER)).isEqualTo("3");
+	}
+
+	@Test
+	void tamperedTokenIsRejected() throws Exception {
+		String token = tokens.issue(principal).getAccessToken();
+		String[] parts = token.split("\\.");
+		String forged = parts[0] + "." + parts[1].substring(0, parts[1].length() - 2) + "AA." + parts[2];
+		MockFilterChain chain = new MockFilterChain();
+
+		MockHttpServletResponse response = filter(request("/api/users/5", forged), chain, false);
+
+		assertThat(response.getStatus()).isEqualTo(401);
+		assertThat(response.getHeader(HttpHeaders.WWW_AUTHENTICATE)).isEqualTo("Bearer");
+		assertThat(chain.getRequest()).isNull();
+	}
+
+	@Test
+	void expiredTokenIsRejectedOnApiPaths() throws Exception {
+		String expired = tokenService(Duration.ofSeconds(-1)).issue(principal).getAccessToken();
+		MockFilterChain chain = new MockFilterChain();
+
+		MockHttpServletResponse response = filter(request("/api/users/5", expired), chain, false);
+
+		assertThat(response.getStatus()).isEqualTo(401);
+		assertThat(chain.getRequest()).isNull();
+	}
+
+	@Test
+	void expiredTokenIsIgnoredOnAuthPaths() throws Exception {
+		String expired = tokenService(Duration.ofSeconds(-1)).issue(principal).getAccessToken();
+		for (String path : new String[] { "/api/auth/refresh", "/api/auth/login" }) {
+			MockHttpServletRequest request = request(path, expired);
+			MockFilterChain chain = new MockFilterChain();
+
+			MockHttpServletResponse response = filter(request, chain, true);
+
+			assertThat(response.getStatus()).isEqualTo(200);
+			assertThat(chain.getRequest()).isSameAs(request);
+			assertThat(request.getAttribute(AuthPrincipal.REQUEST_ATTRIBUTE)).isNull();
+		}
+	}
+
+	@Test
+	void requiredTokenIsOnlyEnforcedOutsideAuthPaths() throws Exception {
+		MockFilterChain apiChain = new MockFilterChain();
+		assertThat(filter(request("/api/users/5", null), apiChain, true).getStatus()).isEqualTo(401);
+		assertThat(apiChain.getRequest()).isNull();
+
+		MockFilterChain authChain = new MockFilterChain();
+		assertThat(filter(request("/api/auth/login", null), authChain, true).getStatus()).isEqualTo(200);
+		assertThat(authChain.getRequest()).isNotNull();
+	}
+
+	@Test
+	void withoutTokenTheCallerHeaderIsResolved() throws Exception {
+		when(principalResolver.resolve(USER_ID)).thenReturn(Optional.of(principal));
+		MockHttpServletRequest request = request("/api/users/5", null);
+		request.addHeader(PrincipalFilter.USER_ID_HEADER, String.valueOf(USER_ID));
+
+		filter(request, new MockFilterChain(), false);
+
+		assertThat(request.getAttribute(AuthPrincipal.REQUEST_ATTRIBUTE)).isSameAs(principal);
+	}
+
+	private MockHttpServletResponse filter(MockHttpServletRequest request, MockFilterChain chain,
+			boolean tokenRequired) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		new PrincipalFilter(principalResolver, tokens, objectMapper, tokenRequired).doFilter(request, response, chain);
+		return response;
+	}
+
+	private static MockHttpServletRequest request(String path, String token) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		if (token != null) {
+			request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+		}
+		return request;
+	}
+
+	private AccessTokenService tokenService(Duration accessTtl) {
+		return new AccessTokenService(snapshotService, revocations, objectMapper, SECRET, accessTtl,
+				Duration.ofDays(7), "rbac-iam");
+	}
+}
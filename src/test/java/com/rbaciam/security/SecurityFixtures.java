@@ -0,0 +1,36 @@
+package com.rbaciam.security;
+
+import java.util.Map;
+
+/**
+ * Builds snapshots and principals for unit tests without a database. Permission bits:
+ * super_admin_access=0, admin_access=1, user_access=2, view_reports=3. Roles:
+ * 1 SUPER_ADMIN, 2 ADMIN (with view_reports), 3 USER.
+ */
+public final class SecurityFixtures {
+	public static final Long SUPER_ADMIN_ROLE = 1L;
+	public static final Long ADMIN_ROLE = 2L;
+	public static final Long USER_ROLE = 3L;
+	public static final String VIEW_REPORTS = "view_reports";
+
+	private SecurityFixtures() {
+	}
+
+	public static AuthorizationSnapshot snapshot() {
+		Map<String, Integer> index = Map.of(AccessPolicy.SUPER_ADMIN_ACCESS, 0, AccessPolicy.ADMIN_ACCESS, 1,
+				AccessPolicy.USER_ACCESS, 2, VIEW_REPORTS, 3);
+		long[] superAdmin = AuthorizationSnapshot.set(new long[0], 0);
+		long[] admin = AuthorizationSnapshot.set(AuthorizationSnapshot.set(new long[0], 1), 3);
+		long[] user = AuthorizationSnapshot.set(new long[0], 2);
+		return new AuthorizationSnapshot(index, Map.of(SUPER_ADMIN_ROLE, superAdmin, ADMIN_ROLE, admin, USER_ROLE, user),
+				Map.of(SUPER_ADMIN_ROLE, "SUPER_ADMIN", ADMIN_ROLE, "ADMIN", USER_ROLE, "USER"));
+	}
+
+	public static UserGrant grant(Long userId, Long roleId, Long companyId) {
+		return new UserGrant(userId, roleId, companyId, true);
+	}
+
+	public static AuthPrincipal principal(Long userId, Long roleId, Long companyId, AuthorizationSnapshot snapshot) {
+		return new AuthPrincipal(grant(userId, roleId, companyId), snapshot);
+	}
+}
@@ -0,0 +1,103 @@
+package com.rbaciam.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.rbaciam.entity.TokenRevocation.SubjectType;
+import com.rbaciam.repository.BatchInsertRepository;
+import com.rbaciam.repository.TokenRevocationRepository;
+import com.rbaciam.repository.TokenRevocationRepository.RevocationView;
+
+class TokenRevocationServiceTest {
+	private static final LocalDateTime REVOKED_AT = LocalDateTime.now().withNano(0).minusMinutes(1);
+	private static final long WATERMARK = REVOKED_AT.atZone(ZoneId.systemDefault()).toEpochSecond();
+	private static final long SLACK = TokenRevocationService.ISSUED_AT_SLACK_SECONDS;
+
+	private final TokenRevocationRepository repository = mock(TokenRevocationRepository.class);
+	private final TokenRevocationService revocations = new TokenRevocationService(repository,
+			mock(BatchInsertRepository.class), Duration.ofMinutes(5), Duration.ofDays(7), Duration.ofSeconds(60),
+			1_000, 0.01);
+
+	@Test
+	void watermarkBoundaryHoldsForEveryScope() {
+		List<RevocationView> rows = new ArrayList<>();
+		for (SubjectType type : SubjectType.values()) {
+			rows.add(row(type, 7L, REVOKED_AT));
+		}
+		load(rows);
+
+		for (SubjectType type : SubjectType.values()) {
+			assertThat(revocations.isRevoked(type, 7L, WATERMARK - 3600)).as(type + " long before").isTrue();
+			assertThat(revocations.isRevoked(type, 7L, WATERMARK)).as(type + " at watermark").isTrue();
+			assertThat(revocations.isRevoked(type, 7L, WATERMARK + SLACK)).as(type + " within slack").isTrue();
+			assertThat(revocations.isRevoked(type, 7L, WATERMARK + SLACK + 1)).as(type + " after").isFalse();
+		}
+	}
+
+	@Test
+	void revocationOnlyCoversItsOwnSubjectAndScope() {
+		load(List.of(row(SubjectType.USER, 7L, REVOKED_AT)));
+
+		assertThat(revocations.isRevoked(SubjectType.USER, 7L, WATERMARK)).isTrue();
+		assertThat(revocations.isRevoked(SubjectType.USER, 8L, WATERMARK)).isFalse();
+		for (SubjectType other : List.of(SubjectType.USER_GRANT, SubjectType.COMPANY, SubjectType.ROLE)) {
+			assertThat(revocations.isRevoked(other, 7L, WATERMARK)).as(other.name()).isFalse();
+		}
+		assertThat(revocations.isRevoked(SubjectType.USER, null, WATERMARK)).isFalse();
+	}
+
+	@Test
+	void latestWatermarkWins() {
+		load(List.of(row(SubjectType.ROLE, 2L, REVOKED_AT), row(SubjectType.ROLE, 2L, REVOKED_AT.minusHours(1))));
+
+		assertThat(revocations.isRevoked(SubjectType.ROLE, 2L, WATERMARK + SLACK)).isTrue();
+	}
+
+	@Test
+	void localRevocationAppliesWithoutTransaction() {
+		load(List.of());
+		long before = LocalDateTime.now().atZone(ZoneId.systemDefault()).toEpochSecond();
+
+		revocations.revoke(SubjectType.COMPANY, List.of(10L, 11L), 1L);
+		long after = LocalDateTime.now().atZone(ZoneId.systemDefault()).toEpochSecond();
+
+		assertThat(revocations.isRevoked(SubjectType.COMPANY, 10L, before)).isTrue();
+		assertThat(revocations.isRevoked(SubjectType.COMPANY, 11L, before)).isTrue();
+		assertThat(revocations.isRevoked(SubjectType.COMPANY, 10L, after + SLACK + 1)).isFalse();
+		assertThat(revocations.isRevoked(SubjectType.USER, 10L, before)).isFalse();
+	}
+
+	private void load(List<RevocationView> rows) {
+		when(repository.findActive(any())).thenReturn(rows);
+		revocations.warmUp();
+	}
+
+	private static RevocationView row(SubjectType type, Long subjectId, LocalDateTime revokedAt) {
+		return new RevocationView() {
+			@Override
+			public SubjectType getSubjectType() {
+				return type;
+			}
+
+			@Override
+			public Long getSubjectId() {
+				return subjectId;
+			}
+
+			@Override
+			public LocalDateTime getRevokedAt() {
+				return revokedAt;
+			}
+		};
+	}
+}
@@ -0,0 +1,105 @@
+package com.rbaciam.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rbaciam.dto.AuthzBatchCheckRequestDTO;
+import com.rbaciam.dto.AuthzCheckDTO;
+import com.rbaciam.exception.UnauthorizedException;
+import com.rbaciam.security.AccessPolicy;
+import com.rbaciam.security.AuthorizationSnapshot;
+import com.rbaciam.security.AuthorizationSnapshotService;
+import com.rbaciam.security.PrincipalResolver;
+import com.rbaciam.security.SecurityFixtures;
+
+class AuthorizationServiceImplTest {
+	private static final Long SUPER_ADMIN = 1L;
+	private static final Long ADMIN_A = 2L;
+	private static final Long USER_A = 3L;
+	private static final Long ADMIN_B = 4L;
+	private static final Long USER_B = 5L;
+	private static final Long COMPANY_A = 10L;
+	private static final Long COMPANY_B = 20L;
+
+	private final AuthorizationSnapshot snapshot = SecurityFixtures.snapshot();
+	private final AuthorizationSnapshotService snapshotService = mock(AuthorizationSnapshotService.class);
+	private final PrincipalResolver principalResolver = mock(PrincipalResolver.class);
+	private final AuthorizationServiceImpl service = new AuthorizationServiceImpl(snapshotService, principalResolver);
+
+	@BeforeEach
+	void setUp() {
+		when(snapshotService.snapshot()).thenReturn(snapshot);
+		when(snapshotService.findUsers(anyCollection())).thenReturn(Map.of(
+				SUPER_ADMIN, SecurityFixtures.grant(SUPER_ADMIN, SecurityFixtures.SUPER_ADMIN_ROLE, COMPANY_A),
+				ADMIN_A, SecurityFixtures.grant(ADMIN_A, SecurityFixtures.ADMIN_ROLE, COMPANY_A),
+				USER_A, SecurityFixtures.grant(USER_A, SecurityFixtures.USER_ROLE, COMPANY_A),
+				ADMIN_B, SecurityFixtures.grant(ADMIN_B, SecurityFixtures.ADMIN_ROLE, COMPANY_B),
+				USER_B, SecurityFixtures.grant(USER_B, SecurityFixtures.USER_ROLE, COMPANY_B)));
+		requester(SUPER_ADMIN, SecurityFixtures.SUPER_ADMIN_ROLE, COMPANY_A);
+		requester(ADMIN_A, SecurityFixtures.ADMIN_ROLE, COMPANY_A);
+		requester(USER_A, SecurityFixtures.USER_ROLE, COMPANY_A);
+	}
+
+	@Test
+	void adminOnlySeesUsersOfTheirOwnCompany() {
+		boolean[] results = service.checkBatch(request(
+				check(USER_A, AccessPolicy.USER_ACCESS),
+				check(ADMIN_A, SecurityFixtures.VIEW_REPORTS),
+				check(USER_B, AccessPolicy.USER_ACCESS),
+				check(ADMIN_B, SecurityFixtures.VIEW_REPORTS)), ADMIN_A).getResults();
+
+		assertThat(results).containsExactly(true, true, false, false);
+	}
+
+	@Test
+	void superAdminSeesEveryCompany() {
+		boolean[] results = service.checkBatch(request(
+				check(USER_A, AccessPolicy.USER_ACCESS),
+				check(USER_B, AccessPolicy.USER_ACCESS),
+				check(ADMIN_B, SecurityFixtures.VIEW_REPORTS),
+				check(USER_B, AccessPolicy.ADMIN_ACCESS)), SUPER_ADMIN).getResults();
+
+		assertThat(results).containsExactly(true, true, true, false);
+	}
+
+	@Test
+	void unknownUsersAreFalse() {
+		boolean[] results = service.checkBatch(request(check(99L, AccessPolicy.USER_ACCESS)), ADMIN_A).getResults();
+
+		assertThat(results).containsExactly(false);
+	}
+
+	@Test
+	void plainUsersCannotCheck() {
+		assertThatThrownBy(() -> service.checkBatch(request(check(USER_A, AccessPolicy.USER_ACCESS)), USER_A))
+				.isInstanceOf(UnauthorizedException.class);
+	}
+
+	private void requester(Long userId, Long roleId, Long companyId) {
+		when(principalResolver.resolve(userId))
+				.thenReturn(Optional.of(SecurityFixtures.principal(userId, roleId, companyId, snapshot)));
+	}
+
+	private static AuthzCheckDTO check(Long userId, String permission) {
+		AuthzCheckDTO check = new AuthzCheckDTO();
+		check.setUserId(userId);
+		check.setPermission(permission);
+		return check;
+	}
+
+	private static AuthzBatchCheckRequestDTO request(AuthzCheckDTO... checks) {
+		AuthzBatchCheckRequestDTO request = new AuthzBatchCheckRequestDTO();
+		request.setChecks(List.of(checks));
+		return request;
+	}
+}
@@ -0,0 +1,49 @@
+package com.rbaciam.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ChunkedJobTest {
+
+	@AfterEach
+	void clearInterrupt() {
+		Thread.interrupted();
+	}
+
+	@Test
+	void stopsWhenAChunkReportsNothingLeft() {
+		AtomicInteger chunks = new AtomicInteger();
+
+		ChunkedJob.run(10, Duration.ZERO, () -> chunks.incrementAndGet() < 3);
+
+		assertThat(chunks.get()).isEqualTo(3);
+	}
+
+	@Test
+	void stopsAtTheChunkBudget() {
+		AtomicInteger chunks = new AtomicInteger();
+
+		ChunkedJob.run(4, Duration.ZERO, () -> chunks.incrementAndGet() > 0);
+
+		assertThat(chunks.get()).isEqualTo(4);
+	}
+
+	@Test
+	void stopsWhenInterruptedDuringThePause() {
+		AtomicInteger chunks = new AtomicInteger();
+
+		ChunkedJob.run(10, Duration.ofSeconds(5), () -> {
+			chunks.incrementAndGet();
+			Thread.currentThread().interrupt();
+			return true;
+		});
+
+		assertThat(chunks.get()).isEqualTo(1);
+		assertThat(Thread.currentThread().isInterrupted()).isTrue();
+	}
+}